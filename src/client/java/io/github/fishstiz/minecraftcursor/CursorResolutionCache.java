@@ -0,0 +1,56 @@
+package io.github.fishstiz.minecraftcursor;
+
+import io.github.fishstiz.minecraftcursor.api.CursorType;
+import io.github.fishstiz.minecraftcursor.util.CursorTypeUtil;
+import net.minecraft.client.gui.screen.Screen;
+import org.jetbrains.annotations.Nullable;
+
+class CursorResolutionCache {
+    private static final int LEFT_CLICK_HELD = 1;
+    private static final int RIGHT_CLICK_HELD = 1 << 1;
+    private static final int SHIFT_HELD = 1 << 2;
+    private Screen screen;
+    private double mouseX;
+    private double mouseY;
+    private int inputState;
+    private int epoch;
+    private int cachedEpoch;
+    private CursorType cursorType;
+
+    // returns the cursor type of the last resolution if nothing has changed since
+    public @Nullable CursorType get(Screen screen, double mouseX, double mouseY) {
+        if (get(screen) != null
+                && this.mouseX == mouseX
+                && this.mouseY == mouseY
+                && this.inputState == getInputState()) {
+            return cursorType;
+        }
+        return null;
+    }
+
+    // returns the cursor type of the last resolution without comparing the input, only valid if there was no input since
+    public @Nullable CursorType get(Screen screen) {
+        return cachedEpoch == epoch && this.screen == screen ? cursorType : null;
+    }
+
+    public void put(Screen screen, double mouseX, double mouseY, CursorType cursorType) {
+        this.screen = screen;
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+        this.inputState = getInputState();
+        this.cursorType = cursorType;
+        this.cachedEpoch = epoch;
+    }
+
+    public void invalidate() {
+        epoch++;
+    }
+
+    private static int getInputState() {
+        int inputState = 0;
+        if (CursorTypeUtil.isLeftClickHeld()) inputState |= LEFT_CLICK_HELD;
+        if (CursorTypeUtil.isRightClickHeld()) inputState |= RIGHT_CLICK_HELD;
+        if (CursorTypeUtil.isShiftHeld()) inputState |= SHIFT_HELD;
+        return inputState;
+    }
+}
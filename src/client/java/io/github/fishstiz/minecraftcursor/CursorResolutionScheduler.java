@@ -0,0 +1,57 @@
+package io.github.fishstiz.minecraftcursor;
+
+import net.minecraft.client.gui.screen.Screen;
+
+// coalesces the resolution requests of a frame so that the cursor type is resolved at most once per frame
+class CursorResolutionScheduler {
+    private Screen screen;
+    private double mouseX;
+    private double mouseY;
+    private boolean pending;
+    private int frameResolutions;
+    private int lastFrameResolutions;
+    private long totalResolutions;
+
+    // the latest request of the frame wins, it has the most recent screen and mouse position
+    public void request(Screen screen, double mouseX, double mouseY) {
+        this.screen = screen;
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+        this.pending = true;
+    }
+
+    public void beginFrame() {
+        lastFrameResolutions = frameResolutions;
+        frameResolutions = 0;
+    }
+
+    public void endFrame(FrameResolver resolver) {
+        if (!pending) {
+            return;
+        }
+
+        Screen screen = this.screen;
+        this.screen = null;
+        this.pending = false;
+        frameResolutions++;
+        totalResolutions++;
+        resolver.resolve(screen, mouseX, mouseY);
+    }
+
+    public int getFrameResolutions() {
+        return frameResolutions;
+    }
+
+    public int getLastFrameResolutions() {
+        return lastFrameResolutions;
+    }
+
+    public long getTotalResolutions() {
+        return totalResolutions;
+    }
+
+    @FunctionalInterface
+    interface FrameResolver {
+        void resolve(Screen screen, double mouseX, double mouseY);
+    }
+}
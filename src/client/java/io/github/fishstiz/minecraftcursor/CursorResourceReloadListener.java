@@ -4,33 +4,60 @@ import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.config.CursorConfig;
 import io.github.fishstiz.minecraftcursor.config.CursorConfigLoader;
 import io.github.fishstiz.minecraftcursor.config.CursorConfigService;
+import io.github.fishstiz.minecraftcursor.cursor.Cursor;
+import io.github.fishstiz.minecraftcursor.cursor.CursorCache;
+import io.github.fishstiz.minecraftcursor.cursor.CursorImage;
 import io.github.fishstiz.minecraftcursor.cursor.CursorManager;
+import io.github.fishstiz.minecraftcursor.cursor.CursorTexture;
+import io.github.fishstiz.minecraftcursor.cursor.CursorTheme;
 import io.github.fishstiz.minecraftcursor.cursor.CursorTypeRegistry;
-import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import io.github.fishstiz.minecraftcursor.cursor.ScaleFilter;
+import io.github.fishstiz.minecraftcursor.util.HashUtil;
+import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
 import net.minecraft.resource.Resource;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
-public class CursorResourceReloadListener implements SimpleSynchronousResourceReloadListener {
+public class CursorResourceReloadListener implements IdentifiableResourceReloadListener {
     private static final String PATH = "textures/cursors";
+    private static final String THEMES_PATH = PATH + "/themes";
     private static final String FILE_EXTENSION = ".png";
     private static final String CONFIG_PATH = "atlases/cursors.json";
+    // distinguishes the fingerprint from the hashes of earlier versions, which were derived from the settings
+    private static final String HASH_PREFIX = "fnv1a64:";
     private final CursorManager cursorManager;
     private final String modId;
+    private final CursorConfigService configService;
     private final CursorConfig userConfig;
     private final CursorConfig config;
+    private final CursorCache cache;
 
-    CursorResourceReloadListener(CursorManager cursorManager, String modId, CursorConfigService userConfig) {
+    CursorResourceReloadListener(CursorManager cursorManager, String modId, CursorConfigService userConfig, CursorCache cache) {
         this.cursorManager = cursorManager;
         this.modId = modId;
+        this.cache = cache;
+        this.configService = userConfig;
         this.userConfig = userConfig.get();
         config = userConfig.get();
     }
@@ -40,51 +67,426 @@ public class CursorResourceReloadListener implements SimpleSynchronousResourceRe
         return Identifier.of(modId, PATH);
     }
 
+    // textures are decoded and scaled in parallel while preparing, only the native cursors are created on apply
     @Override
-    public void reload(ResourceManager manager) {
-        initConfig(manager);
-        loadCursorTextures(manager);
+    public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager, Executor prepareExecutor, Executor applyExecutor) {
+        long startNanos = System.nanoTime();
+        // the textures that are loaded before the reload, resources that did not change are not loaded again
+        LoadedTextures loadedTextures = new LoadedTextures(cursorManager.getSourceKeys());
+        ConfigSnapshot userSettings = snapshotConfig();
+
+        return CompletableFuture.supplyAsync(() -> loadResourceConfig(manager), prepareExecutor)
+                .thenCompose(resourceConfig -> prepare(manager, resourceConfig, loadedTextures, userSettings, prepareExecutor, startNanos))
+                .thenCompose(synchronizer::whenPrepared)
+                .thenAcceptAsync(this::apply, applyExecutor);
+    }
+
+    // loads a theme that is not in memory from the current resources, null if the resources do not have it
+    public CompletableFuture<CursorTheme> loadTheme(String theme, ResourceManager manager, Executor prepareExecutor, Executor applyExecutor) {
+        ConfigSnapshot userSettings = snapshotConfig();
+
+        return CompletableFuture.supplyAsync(() -> loadResourceConfig(manager), prepareExecutor)
+                .thenCompose(resourceConfig -> readCursorTextures(manager, theme, prepareExecutor).thenCompose(sources -> prepareCursorTextures(
+                        theme,
+                        sources,
+                        resourceConfig != null ? resourceConfig.config() : null,
+                        userSettings.settings(),
+                        userSettings.scaleFilter(),
+                        Map.of(),
+                        userSettings.cacheEnabled(),
+                        prepareExecutor
+                )))
+                .thenApplyAsync(cursors -> cursors.isEmpty() ? null : createTheme(theme, cursors, null), applyExecutor);
     }
 
-    private void initConfig(ResourceManager manager) {
+    // the configured theme is active if the resources have it, a few of the other themes are preloaded
+    private CompletableFuture<PreparedReload> prepare(
+            ResourceManager manager,
+            @Nullable ResourceConfig resourceConfig,
+            LoadedTextures loadedTextures,
+            ConfigSnapshot userSettings,
+            Executor prepareExecutor,
+            long startNanos
+    ) {
+        Set<String> themes = findThemes(manager);
+        String activeTheme = themes.contains(userSettings.theme()) ? userSettings.theme() : CursorTheme.DEFAULT;
+
+        if (!activeTheme.equals(userSettings.theme())) {
+            MinecraftCursor.LOGGER.warn("Cursor theme {} not found, using the default theme", userSettings.theme());
+        }
+
+        // the textures of the default theme are read first, they are part of the fingerprint of the resource config
+        return readCursorTextures(manager, CursorTheme.DEFAULT, prepareExecutor).thenCompose(defaultSources -> {
+            CursorConfig resourceCursorConfig = resourceConfig != null ? resourceConfig.config() : null;
+            if (resourceCursorConfig != null) {
+                resourceCursorConfig.set_hash(HASH_PREFIX + HashUtil.toHex(fingerprint(resourceConfig.bytes(), defaultSources)));
+            }
+
+            // the fingerprint is adopted for a config of an earlier version, its settings cannot be compared with it
+            String adoptedHash = resourceCursorConfig != null && isLegacyHash(userSettings.hash()) ? resourceCursorConfig.get_hash() : null;
+            CursorConfig resourceSettings = adoptedHash == null && isResourceSettingsChanged(resourceCursorConfig, userSettings.hash())
+                    ? resourceCursorConfig
+                    : null;
+            // the settings the cursors will have once the reload is applied
+            Map<String, CursorConfig.Settings> settings = resourceSettings != null ? resourceSettings.getSettings() : userSettings.settings();
+            ScaleFilter scaleFilter = userSettings.scaleFilter();
+            boolean cacheEnabled = userSettings.cacheEnabled();
+
+            CompletableFuture<List<PreparedCursor>> activeCursors = readCursorTextures(manager, activeTheme, defaultSources, prepareExecutor)
+                    .thenCompose(sources -> prepareCursorTextures(
+                            activeTheme, sources, resourceCursorConfig, settings, scaleFilter, loadedTextures.sourceKeys(activeTheme), cacheEnabled, prepareExecutor));
+            Map<String, CompletableFuture<List<PreparedCursor>>> inactiveCursors = new LinkedHashMap<>();
+            for (String theme : themes) {
+                if (inactiveCursors.size() == CursorManager.MAX_INACTIVE_THEMES) {
+                    break;
+                }
+                if (!theme.equals(activeTheme)) {
+                    inactiveCursors.put(theme, readCursorTextures(manager, theme, defaultSources, prepareExecutor)
+                            .thenCompose(sources -> prepareCursorTextures(
+                                    theme, sources, resourceCursorConfig, settings, scaleFilter, loadedTextures.sourceKeys(theme), cacheEnabled, prepareExecutor)));
+                }
+            }
+
+            List<CompletableFuture<?>> futures = new ArrayList<>(inactiveCursors.values());
+            futures.add(activeCursors);
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+                Map<String, List<PreparedCursor>> inactiveThemes = new LinkedHashMap<>();
+                for (Map.Entry<String, CompletableFuture<List<PreparedCursor>>> entry : inactiveCursors.entrySet()) {
+                    inactiveThemes.put(entry.getKey(), entry.getValue().join());
+                }
+
+                if (cacheEnabled) {
+                    Set<Long> cacheKeys = new HashSet<>();
+                    activeCursors.join().forEach(cursor -> cacheKeys.add(cursor.cacheKey()));
+                    inactiveThemes.values().forEach(cursors -> cursors.forEach(cursor -> cacheKeys.add(cursor.cacheKey())));
+                    // entries written after the reload started are kept
+                    cache.retain(cacheKeys, Instant.now().minusNanos(System.nanoTime() - startNanos));
+                }
+
+                return new PreparedReload(
+                        resourceSettings,
+                        adoptedHash,
+                        themes,
+                        activeTheme,
+                        activeCursors.join(),
+                        inactiveThemes,
+                        System.nanoTime() - startNanos
+                );
+            });
+        });
+    }
+
+    // the default theme is always available, even if the resources have no cursor textures
+    private Set<String> findThemes(ResourceManager manager) {
+        Set<String> themes = new TreeSet<>();
+        themes.add(CursorTheme.DEFAULT);
+
+        for (Identifier id : manager.findResources(THEMES_PATH, id -> id.getPath().endsWith(FILE_EXTENSION)).keySet()) {
+            String[] path = id.getPath().substring(THEMES_PATH.length() + 1).split("/");
+            if (path.length == 2) {
+                themes.add(path[0]);
+            }
+        }
+        return themes;
+    }
+
+    private @Nullable ResourceConfig loadResourceConfig(ResourceManager manager) {
         Optional<Resource> resourceConfigResourceOpt = manager.getResource(Identifier.of(modId, CONFIG_PATH));
 
         if (resourceConfigResourceOpt.isEmpty()) {
-            return;
+            return null;
         }
 
         try (InputStream stream = resourceConfigResourceOpt.get().getInputStream()) {
-            CursorConfig resourceConfig = new CursorConfigLoader(stream).config();
-            if (!resourceConfig.get_hash().equals(userConfig.get_hash())) {
-                userConfig.set_hash(resourceConfig.get_hash());
-                config.setSettings(resourceConfig.getSettings());
-                MinecraftCursor.LOGGER.info("Using default cursor settings provided by resource");
-            }
+            byte[] bytes = stream.readAllBytes();
+            CursorConfig resourceConfig = new CursorConfigLoader(new ByteArrayInputStream(bytes)).config();
+            return resourceConfig != null ? new ResourceConfig(resourceConfig, bytes) : null;
         } catch (IOException e) {
             MinecraftCursor.LOGGER.error("Failed to load resource cursor settings", e);
         }
+        return null;
     }
 
-    private void loadCursorTextures(ResourceManager manager) {
-        for (Map.Entry<Identifier, Resource> entry : manager.findResources(
-                getFabricId().getPath(),
-                id -> getCursorTypeByIdentifierOrNull(id) != null).entrySet()
+    /**
+     * Identifies the resource config together with the textures it configures, so that changing either resets the
+     * user's settings. Textures are hashed in the order of their identifiers, which does not depend on the resource
+     * manager.
+     */
+    private static long fingerprint(byte[] resourceConfig, List<CursorSource> sources) {
+        HashUtil.Hasher hasher = new HashUtil.Hasher()
+                .putInt(resourceConfig.length)
+                .putBytes(resourceConfig)
+                .putInt(sources.size());
+
+        for (CursorSource source : sources) {
+            hasher.putString(source.sprite().toString()).putLong(HashUtil.fnv1a64(source.bytes()));
+        }
+        return hasher.getHash();
+    }
+
+    // the user's settings are replaced by the resource settings when the resource pack changes
+    private static boolean isResourceSettingsChanged(@Nullable CursorConfig resourceConfig, @Nullable String userHash) {
+        return resourceConfig != null && !resourceConfig.get_hash().equals(userHash);
+    }
+
+    // a missing hash or one without the prefix was written by an earlier version, a new config has an empty hash
+    private static boolean isLegacyHash(@Nullable String userHash) {
+        return userHash == null || (!userHash.isEmpty() && !userHash.startsWith(HASH_PREFIX));
+    }
+
+    // the user config is changed on the render thread, the prepare stages only read this copy of it
+    private ConfigSnapshot snapshotConfig() {
+        Map<String, CursorConfig.Settings> settings = new HashMap<>();
+        for (Map.Entry<String, CursorConfig.Settings> entry : config.getSettings().entrySet()) {
+            settings.put(entry.getKey(), copySettings(entry.getValue()));
+        }
+
+        return new ConfigSnapshot(
+                config.getTheme(),
+                Collections.unmodifiableMap(settings),
+                config.getScaleFilter(),
+                config.isDiskCacheEnabled(),
+                userConfig.get_hash()
+        );
+    }
+
+    private CompletableFuture<List<CursorSource>> readCursorTextures(
+            ResourceManager manager,
+            String theme,
+            List<CursorSource> defaultSources,
+            Executor prepareExecutor
+    ) {
+        if (theme.equals(CursorTheme.DEFAULT)) {
+            return CompletableFuture.completedFuture(defaultSources);
+        }
+        return readCursorTextures(manager, theme, prepareExecutor);
+    }
+
+    // sorted by identifier
+    private CompletableFuture<List<CursorSource>> readCursorTextures(ResourceManager manager, String theme, Executor prepareExecutor) {
+        String path = theme.isEmpty() ? PATH : THEMES_PATH + "/" + theme;
+        List<CompletableFuture<CursorSource>> futures = new ArrayList<>();
+
+        // only the textures directly in the directory of the theme, the default theme does not include the other themes
+        for (Map.Entry<Identifier, Resource> entry : new TreeMap<>(manager.findResources(
+                path,
+                id -> id.getPath().lastIndexOf('/') == path.length() && getCursorTypeByIdentifierOrNull(id) != null)).entrySet()
         ) {
             CursorType cursorType = getCursorTypeByIdentifierOrNull(entry.getKey());
             assert cursorType != null;
 
-            BufferedImage image = null;
-            try (InputStream stream = entry.getValue().getInputStream()) {
-                image = ImageIO.read(stream);
-                cursorManager.loadCursorImage(cursorType, entry.getKey(), image, config.getOrCreateCursorSettings(cursorType));
-            } catch (IOException e) {
-                MinecraftCursor.LOGGER.error("Failed to load image {}", entry.getKey().getPath(), e);
-            } finally {
-                if (image != null) {
-                    image.flush();
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> readCursorTexture(cursorType, entry.getKey(), entry.getValue()),
+                    prepareExecutor
+            ));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<CursorSource> sources = new ArrayList<>(futures.size());
+            for (CompletableFuture<CursorSource> future : futures) {
+                CursorSource source = future.join();
+                if (source != null) {
+                    sources.add(source);
                 }
             }
+            return sources;
+        });
+    }
+
+    private @Nullable CursorSource readCursorTexture(CursorType cursorType, Identifier sprite, Resource resource) {
+        try (InputStream stream = resource.getInputStream()) {
+            return new CursorSource(cursorType, sprite, stream.readAllBytes());
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.error("Failed to load image {}", sprite.getPath(), e);
         }
+        return null;
+    }
+
+    private CompletableFuture<List<PreparedCursor>> prepareCursorTextures(
+            String theme,
+            List<CursorSource> sources,
+            @Nullable CursorConfig resourceConfig,
+            Map<String, CursorConfig.Settings> settings,
+            ScaleFilter scaleFilter,
+            Map<CursorType, Long> loadedSourceKeys,
+            boolean cacheEnabled,
+            Executor prepareExecutor
+    ) {
+        List<CompletableFuture<PreparedCursor>> futures = new ArrayList<>();
+
+        for (CursorSource source : sources) {
+            CursorType cursorType = source.type();
+            CursorConfig.Settings cursorSettings = copySettings(settings.get(cursorType.getKey()));
+            CursorConfig.Animation animation = resourceConfig != null ? resourceConfig.getAnimation(theme, cursorType) : null;
+            Long loadedSourceKey = loadedSourceKeys.get(cursorType);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> prepareCursorTexture(source, animation, scaleFilter, cursorSettings, loadedSourceKey, cacheEnabled),
+                    prepareExecutor
+            ));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<PreparedCursor> cursors = new ArrayList<>(futures.size());
+            for (CompletableFuture<PreparedCursor> future : futures) {
+                PreparedCursor cursor = future.join();
+                if (cursor != null) {
+                    cursors.add(cursor);
+                }
+            }
+            return cursors;
+        });
+    }
+
+    private @Nullable PreparedCursor prepareCursorTexture(
+            CursorSource source,
+            @Nullable CursorConfig.Animation animation,
+            ScaleFilter scaleFilter,
+            CursorConfig.Settings settings,
+            @Nullable Long loadedSourceKey,
+            boolean cacheEnabled
+    ) {
+        CursorType cursorType = source.type();
+        Identifier sprite = source.sprite();
+        byte[] bytes = source.bytes();
+        long sourceKey = CursorTexture.sourceKey(bytes, animation, scaleFilter);
+        long cacheKey = CursorCache.key(sourceKey, settings.getScale());
+        Supplier<PreparedCursor> loader = () -> loadCursorTexture(
+                cursorType, sprite, bytes, animation, scaleFilter, settings, sourceKey, cacheKey, cacheEnabled);
+
+        // only the settings are applied to the loaded texture, it is only loaded if it was unloaded in the meantime
+        if (loadedSourceKey != null && loadedSourceKey == sourceKey) {
+            return new PreparedCursor(cursorType, sprite, null, null, settings, sourceKey, cacheKey, false, loader);
+        }
+        return loader.get();
+    }
+
+    private @Nullable PreparedCursor loadCursorTexture(
+            CursorType cursorType,
+            Identifier sprite,
+            byte[] bytes,
+            @Nullable CursorConfig.Animation animation,
+            ScaleFilter scaleFilter,
+            CursorConfig.Settings settings,
+            long sourceKey,
+            long cacheKey,
+            boolean cacheEnabled
+    ) {
+        CursorCache.Entry cached = cacheEnabled ? cache.read(cacheKey) : null;
+
+        if (cached != null) {
+            CursorTexture texture = CursorTexture.ofFrames(cached.sourceFrames(), animation, scaleFilter, cursorType.getKey(), sourceKey);
+            return new PreparedCursor(cursorType, sprite, texture, cached.scaledFrames(), settings, sourceKey, cacheKey, true, null);
+        }
+
+        try {
+            CursorTexture texture = CursorTexture.of(CursorImage.read(bytes), animation, scaleFilter, cursorType.getKey(), sourceKey);
+            CursorImage[] scaledFrames = texture.scale(settings.getScale());
+            if (cacheEnabled) {
+                cache.write(cacheKey, texture, scaledFrames);
+            }
+            return new PreparedCursor(cursorType, sprite, texture, scaledFrames, settings, sourceKey, cacheKey, false, null);
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.error("Failed to load image {}", sprite.getPath(), e);
+        }
+        return null;
+    }
+
+    private void apply(PreparedReload reload) {
+        long startNanos = System.nanoTime();
+
+        if (reload.adoptedHash() != null) {
+            userConfig.set_hash(reload.adoptedHash());
+            configService.save();
+            MinecraftCursor.LOGGER.info("Keeping cursor settings of a config from an earlier version");
+        } else if (reload.resourceSettings() != null) {
+            userConfig.set_hash(reload.resourceSettings().get_hash());
+            config.setSettings(reload.resourceSettings().getSettings());
+            configService.save();
+            MinecraftCursor.LOGGER.info("Using default cursor settings provided by resource");
+        }
+
+        Map<String, CursorTheme> previousThemes = cursorManager.resetThemes(reload.theme(), reload.themes());
+
+        // loaded with the settings the images were scaled with
+        int skippedCursors = 0;
+        for (PreparedCursor cursor : reload.cursors()) {
+            config.getOrCreateCursorSettings(cursor.type());
+
+            if (cursor.isUnchanged() && cursorManager.reuseCursorImage(cursor.type(), cursor.sourceKey(), cursor.settings())) {
+                skippedCursors++;
+            } else {
+                loadCursorImage(cursor.isUnchanged() ? cursor.loader().get() : cursor);
+            }
+        }
+
+        for (Map.Entry<String, List<PreparedCursor>> entry : reload.inactiveThemes().entrySet()) {
+            cursorManager.addTheme(createTheme(entry.getKey(), entry.getValue(), previousThemes.get(entry.getKey())));
+        }
+        // the images that were not kept
+        previousThemes.values().forEach(CursorTheme::close);
+
+        // prepare time includes waiting for the prepare executor, apply time is the time spent on the render thread
+        long applyNanos = System.nanoTime() - startNanos;
+        MinecraftCursor.LOGGER.info("Loaded {} cursor textures and skipped {} unchanged ({} cached, {} inactive themes) in {} ms (prepare: {} ms, apply: {} ms), using {} KiB of image memory",
+                reload.cursors().size() - skippedCursors,
+                skippedCursors,
+                reload.cursors().stream().filter(PreparedCursor::cached).count(),
+                reload.inactiveThemes().size(),
+                TimeUnit.NANOSECONDS.toMillis(reload.prepareNanos() + applyNanos),
+                TimeUnit.NANOSECONDS.toMillis(reload.prepareNanos()),
+                TimeUnit.NANOSECONDS.toMillis(applyNanos),
+                CursorImage.getAllocatedBytes() / 1024);
+    }
+
+    private void loadCursorImage(@Nullable PreparedCursor cursor) {
+        if (cursor != null) {
+            cursorManager.loadCursorImage(
+                    cursor.type(),
+                    cursor.sprite(),
+                    cursor.texture(),
+                    cursor.scaledFrames(),
+                    cursor.settings()
+            );
+        }
+    }
+
+    // the images of unchanged cursors are moved from the previous theme, they are rebuilt if it no longer has them
+    private CursorTheme createTheme(String name, List<PreparedCursor> cursors, @Nullable CursorTheme previousTheme) {
+        CursorTheme theme = new CursorTheme(name);
+
+        for (PreparedCursor preparedCursor : cursors) {
+            config.getOrCreateCursorSettings(preparedCursor.type());
+
+            Cursor.State state = preparedCursor.isUnchanged() && previousTheme != null
+                    ? previousTheme.remove(preparedCursor.type(), preparedCursor.sourceKey())
+                    : null;
+            if (state != null) {
+                theme.put(preparedCursor.type(), state);
+                continue;
+            }
+
+            PreparedCursor cursor = preparedCursor.isUnchanged() ? preparedCursor.loader().get() : preparedCursor;
+            if (cursor == null) {
+                continue;
+            }
+            theme.put(cursor.type(), Cursor.State.of(
+                    cursor.sprite(),
+                    cursor.texture(),
+                    cursor.scaledFrames(),
+                    cursor.settings().getScale(),
+                    cursor.settings().getXHot(),
+                    cursor.settings().getYHot()
+            ));
+        }
+        return theme;
+    }
+
+    private static CursorConfig.Settings copySettings(@Nullable CursorConfig.Settings settings) {
+        if (settings == null) {
+            return new CursorConfig.Settings();
+        }
+        return CursorConfig.Settings.create(settings.getScale(), settings.getXHot(), settings.getYHot(), settings.getEnabled());
     }
 
     @Nullable
@@ -94,4 +496,54 @@ public class CursorResourceReloadListener implements SimpleSynchronousResourceRe
 
         return CursorTypeRegistry.getCursorTypeOrNull(name);
     }
+
+    private record PreparedReload(
+            @Nullable CursorConfig resourceSettings,
+            @Nullable String adoptedHash,
+            Set<String> themes,
+            String theme,
+            List<PreparedCursor> cursors,
+            Map<String, List<PreparedCursor>> inactiveThemes,
+            long prepareNanos
+    ) {
+    }
+
+    private record ResourceConfig(CursorConfig config, byte[] bytes) {
+    }
+
+    private record CursorSource(CursorType type, Identifier sprite, byte[] bytes) {
+    }
+
+    private record LoadedTextures(Map<String, Map<CursorType, Long>> themeSourceKeys) {
+        Map<CursorType, Long> sourceKeys(String theme) {
+            return themeSourceKeys.getOrDefault(theme, Map.of());
+        }
+    }
+
+    // the settings are copies and must not be modified
+    private record ConfigSnapshot(
+            String theme,
+            Map<String, CursorConfig.Settings> settings,
+            ScaleFilter scaleFilter,
+            boolean cacheEnabled,
+            @Nullable String hash
+    ) {
+    }
+
+    // the texture of an unchanged cursor is not loaded unless the loader is called
+    private record PreparedCursor(
+            CursorType type,
+            Identifier sprite,
+            @Nullable CursorTexture texture,
+            CursorImage @Nullable [] scaledFrames,
+            CursorConfig.Settings settings,
+            long sourceKey,
+            long cacheKey,
+            boolean cached,
+            @Nullable Supplier<PreparedCursor> loader
+    ) {
+        boolean isUnchanged() {
+            return texture == null;
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package io.github.fishstiz.minecraftcursor;
 
 import io.github.fishstiz.minecraftcursor.api.CursorProvider;
+import io.github.fishstiz.minecraftcursor.api.CursorRegionHandler;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.api.CursorTypeRegistrar;
+import io.github.fishstiz.minecraftcursor.cursorhandler.CursorRegionIndex;
 import io.github.fishstiz.minecraftcursor.cursorhandler.ingame.*;
 import io.github.fishstiz.minecraftcursor.api.CursorHandler;
 import io.github.fishstiz.minecraftcursor.cursorhandler.modmenu.ModScreenCursorHandler;
@@ -12,24 +14,47 @@ import io.github.fishstiz.minecraftcursor.util.CursorTypeUtil;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.gui.Element;
 import net.minecraft.client.gui.ParentElement;
+import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ClickableWidget;
+import net.minecraft.client.gui.widget.EntryListWidget;
 import net.minecraft.client.gui.widget.PressableWidget;
 import net.minecraft.client.gui.widget.SliderWidget;
 import net.minecraft.client.gui.widget.TabButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
+import net.minecraft.client.gui.widget.Widget;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.AbstractMap;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.fishstiz.minecraftcursor.util.LookupUtil.NAMESPACE;
 import static io.github.fishstiz.minecraftcursor.util.LookupUtil.RESOLVER;
 
 class CursorTypeResolver implements CursorTypeRegistrar {
-    private final List<AbstractMap.SimpleImmutableEntry<Class<? extends Element>, ElementCursorTypeFunction<? extends Element>>>
-            registry = new ArrayList<>();
-    private final ConcurrentHashMap<String, ElementCursorTypeFunction<? extends Element>> cachedRegistry = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Class<? extends Element>, Registration> registry = new LinkedHashMap<>();
+    private static final long FAILURE_SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final Registration DEFAULT_REGISTRATION = new Registration(CursorTypeRegistrar::elementToDefault, false);
+    private final ElementCursorTypeFunction<ParentElement> parentElementFunction =
+            (parentElement, mouseX, mouseY) -> resolveChildren(parentElement, mouseX, mouseY).cursorType();
+    private final Registration parentElementRegistration = new Registration(parentElementFunction, false);
+    private final ClassValue<Dispatch> dispatchTable = new ClassValue<>() {
+        @Override
+        protected Dispatch computeValue(Class<?> elementClass) {
+            return new Dispatch(registryVersion, computeRegistration(elementClass), new HandlerCircuitBreaker(elementClass));
+        }
+    };
+    // bumped on every registration so dispatch entries computed before a late registration are recomputed
+    private volatile int registryVersion;
+    // only accessed on the render thread, other threads read the snapshot
+    private final Set<HandlerCircuitBreaker> trippedBreakers = new LinkedHashSet<>();
+    private volatile Map<String, Integer> trippedHandlers = Map.of();
+    private int suppressedFailures;
+    private long lastFailureSummaryNanos = System.nanoTime();
 
     public CursorTypeResolver() {
         init();
@@ -74,11 +99,15 @@ class CursorTypeResolver implements CursorTypeRegistrar {
 
     public <T extends Element> void register(CursorHandler<T> cursorHandler) {
         CursorHandler.TargetElement<T> targetElement = cursorHandler.getTargetElement();
+        boolean rendersOutsideBounds = cursorHandler.rendersOutsideBounds();
+        ElementCursorTypeFunction<T> elementToCursorType = cursorHandler instanceof CursorRegionHandler<T> regionHandler
+                ? regionCursorTypeFunction(regionHandler)
+                : cursorHandler::getCursorType;
 
         if (targetElement.elementClass().isPresent()) {
-            register(targetElement.elementClass().get(), cursorHandler::getCursorType);
+            register(targetElement.elementClass().get(), elementToCursorType, rendersOutsideBounds);
         } else if (targetElement.fullyQualifiedClassName().isPresent()) {
-            register(targetElement.fullyQualifiedClassName().get(), cursorHandler::getCursorType);
+            register(targetElement.fullyQualifiedClassName().get(), elementToCursorType, rendersOutsideBounds);
         } else {
             throw new AssertionError("Could not register cursor handler: "
                     + cursorHandler.getClass().getName()
@@ -86,8 +115,22 @@ class CursorTypeResolver implements CursorTypeRegistrar {
         }
     }
 
-    @SuppressWarnings("unchecked")
+    private static <T extends Element> ElementCursorTypeFunction<T> regionCursorTypeFunction(CursorRegionHandler<T> regionHandler) {
+        CursorRegionIndex<T> regionIndex = new CursorRegionIndex<>(regionHandler);
+
+        return (element, mouseX, mouseY) -> {
+            CursorType cursorType = regionHandler.getCursorType(element, mouseX, mouseY);
+            if (cursorType != CursorType.DEFAULT) return cursorType;
+            return regionIndex.getCursorType(element, mouseX, mouseY);
+        };
+    }
+
     public <T extends Element> void register(String fullyQualifiedClassName, ElementCursorTypeFunction<T> elementToCursorType) {
+        register(fullyQualifiedClassName, elementToCursorType, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Element> void register(String fullyQualifiedClassName, ElementCursorTypeFunction<T> elementToCursorType, boolean rendersOutsideBounds) {
         try {
             Class<T> elementClass = (Class<T>) Class.forName(RESOLVER.mapClassName(NAMESPACE, fullyQualifiedClassName));
 
@@ -95,7 +138,7 @@ class CursorTypeResolver implements CursorTypeRegistrar {
                 throw new ClassCastException(fullyQualifiedClassName + " is not a subclass of Element");
             }
 
-            register(elementClass, elementToCursorType);
+            register(elementClass, elementToCursorType, rendersOutsideBounds);
         } catch (ClassNotFoundException e) {
             MinecraftCursor.LOGGER.error("Error registering cursor type. Class not found: {}", fullyQualifiedClassName);
         } catch (ClassCastException e) {
@@ -104,56 +147,221 @@ class CursorTypeResolver implements CursorTypeRegistrar {
     }
 
     public <T extends Element> void register(Class<T> elementClass, ElementCursorTypeFunction<T> elementToCursorType) {
-        registry.add(new AbstractMap.SimpleImmutableEntry<>(elementClass, elementToCursorType));
+        register(elementClass, elementToCursorType, false);
+    }
+
+    private <T extends Element> void register(Class<T> elementClass, ElementCursorTypeFunction<T> elementToCursorType, boolean rendersOutsideBounds) {
+        // re-insert so that the latest registration also comes last when matching interfaces
+        registry.remove(elementClass);
+        registry.put(elementClass, new Registration(elementToCursorType, rendersOutsideBounds));
+        registryVersion++;
+        trippedBreakers.clear();
+        updateTrippedHandlers();
+    }
+
+    // visits each element at most once, the hovered element is only resolved if the children were not traversed
+    public Resolution resolve(Screen screen, double mouseX, double mouseY) {
+        Dispatch dispatch = getDispatch(screen);
+        Resolution resolution = resolve(screen, dispatch, mouseX, mouseY, false);
+
+        if (resolution.cursorType() == CursorType.DEFAULT && dispatch.function() != parentElementFunction) {
+            Element hoveredElement = screen.hoveredElement(mouseX, mouseY).orElse(null);
+            if (hoveredElement != null) {
+                resolution = resolve(hoveredElement, getDispatch(hoveredElement), mouseX, mouseY, false);
+            }
+        }
+
+        return resolution;
     }
 
     public <T extends Element> CursorType getCursorType(T element, double mouseX, double mouseY) {
+        return resolve(element, getDispatch(element), mouseX, mouseY, false).cursorType();
+    }
+
+    private <T extends Element> Resolution resolve(T element, Dispatch dispatch, double mouseX, double mouseY, boolean isTraversed) {
+        HandlerCircuitBreaker breaker = dispatch.breaker();
+        if (breaker.isOpen()) {
+            return Resolution.NONE;
+        }
+
         try {
-            if (element instanceof CursorProvider cursorProvider) {
-                CursorType providedCursorType = cursorProvider.getCursorType(mouseX, mouseY);
-                if (providedCursorType != null && providedCursorType != CursorType.DEFAULT) {
-                    return providedCursorType;
-                }
+            Resolution resolution = resolveUnchecked(element, dispatch, mouseX, mouseY, isTraversed);
+            if (breaker.hasFailed()) {
+                onHandlerSuccess(breaker);
             }
-
-            @SuppressWarnings("unchecked")
-            ElementCursorTypeFunction<T> cursorTypeFunction =
-                    (ElementCursorTypeFunction<T>) cachedRegistry.computeIfAbsent(element.getClass().getName(),
-                            k -> computeCursorType(element));
-            return cursorTypeFunction.getCursorType(element, mouseX, mouseY);
+            return resolution;
         } catch (Exception e) {
-            MinecraftCursor.LOGGER.warn("Could not get cursor type for element: {}",
-                    RESOLVER.unmapClassName("named", element.getClass().getName()));
+            onHandlerFailure(breaker, e);
         }
-        return CursorType.DEFAULT;
+        return Resolution.NONE;
     }
 
     @SuppressWarnings("unchecked")
-    private <T extends Element> ElementCursorTypeFunction<T> computeCursorType(Element element) {
-        for (int i = registry.size() - 1; i >= 0; i--) {
-            if (registry.get(i).getKey().isInstance(element)) {
-                return (ElementCursorTypeFunction<T>) registry.get(i).getValue();
+    private <T extends Element> Resolution resolveUnchecked(T element, Dispatch dispatch, double mouseX, double mouseY, boolean isTraversed) {
+        if (element instanceof CursorProvider cursorProvider) {
+            CursorType providedCursorType = cursorProvider.getCursorType(mouseX, mouseY);
+            if (providedCursorType != null && providedCursorType != CursorType.DEFAULT) {
+                return Resolution.of(providedCursorType, element);
+            }
+        }
+
+        if (dispatch.function() == parentElementFunction) {
+            // the children of a traversed parent element are resolved by the traversal itself
+            return isTraversed ? Resolution.NONE : resolveChildren((ParentElement) element, mouseX, mouseY);
+        }
+
+        ElementCursorTypeFunction<T> cursorTypeFunction = (ElementCursorTypeFunction<T>) dispatch.function();
+        return Resolution.of(cursorTypeFunction.getCursorType(element, mouseX, mouseY), element);
+    }
+
+    private void onHandlerSuccess(HandlerCircuitBreaker breaker) {
+        if (breaker.onSuccess() && trippedBreakers.remove(breaker)) {
+            updateTrippedHandlers();
+            MinecraftCursor.LOGGER.info("Re-enabled cursor type for element: {}", breaker.getElementClassName());
+        }
+    }
+
+    // only the first failure and trips are logged, other failures are summarized at most once per interval
+    private void onHandlerFailure(HandlerCircuitBreaker breaker, Exception e) {
+        if (breaker.onFailure()) {
+            trippedBreakers.add(breaker);
+            updateTrippedHandlers();
+            MinecraftCursor.LOGGER.warn("Disabled cursor type for element: {} after {} consecutive failures, retrying in {}s",
+                    breaker.getElementClassName(),
+                    breaker.getConsecutiveFailures(),
+                    TimeUnit.NANOSECONDS.toSeconds(breaker.getBackoffNanos()));
+        } else if (breaker.getTotalFailures() == 1) {
+            MinecraftCursor.LOGGER.warn("Could not get cursor type for element: {}", breaker.getElementClassName(), e);
+        } else {
+            suppressedFailures++;
+        }
+
+        logFailureSummary();
+    }
+
+    // called every client tick, so that the failures of the last burst are also summarized
+    public void tick() {
+        logFailureSummary();
+    }
+
+    private void logFailureSummary() {
+        long now = System.nanoTime();
+        if (suppressedFailures > 0 && now - lastFailureSummaryNanos >= FAILURE_SUMMARY_INTERVAL_NANOS) {
+            MinecraftCursor.LOGGER.warn("Suppressed {} cursor type failures in the last {}s, disabled element types: {}",
+                    suppressedFailures,
+                    TimeUnit.NANOSECONDS.toSeconds(now - lastFailureSummaryNanos),
+                    trippedBreakers.size());
+            suppressedFailures = 0;
+            lastFailureSummaryNanos = now;
+        }
+    }
+
+    // rebuilt on the render thread whenever a tripped handler changes
+    private void updateTrippedHandlers() {
+        Map<String, Integer> trippedHandlers = new LinkedHashMap<>();
+        for (HandlerCircuitBreaker breaker : trippedBreakers) {
+            trippedHandlers.put(breaker.getElementClassName(), breaker.getTotalFailures());
+        }
+        this.trippedHandlers = Collections.unmodifiableMap(trippedHandlers);
+    }
+
+    // element class names mapped to their total failures, safe to call from any thread
+    public Map<String, Integer> getTrippedHandlers() {
+        return trippedHandlers;
+    }
+
+    private Dispatch getDispatch(Element element) {
+        Class<?> elementClass = element.getClass();
+        Dispatch dispatch = dispatchTable.get(elementClass);
+
+        if (dispatch.version() != registryVersion) {
+            dispatchTable.remove(elementClass);
+            dispatch = dispatchTable.get(elementClass);
+        }
+
+        return dispatch;
+    }
+
+    private Registration computeRegistration(Class<?> elementClass) {
+        for (Class<?> superclass = elementClass; superclass != null; superclass = superclass.getSuperclass()) {
+            Registration registration = registry.get(superclass);
+            if (registration != null) {
+                return registration;
             }
         }
-        if (element instanceof ParentElement) {
-            return (parent, x, y) -> this.parentElementGetChildCursorType((ParentElement) parent, x, y);
+
+        Registration interfaceRegistration = null;
+        for (Map.Entry<Class<? extends Element>, Registration> entry : registry.entrySet()) {
+            if (entry.getKey().isInterface() && entry.getKey().isAssignableFrom(elementClass)) {
+                interfaceRegistration = entry.getValue();
+            }
+        }
+        if (interfaceRegistration != null) {
+            return interfaceRegistration;
+        }
+
+        if (ParentElement.class.isAssignableFrom(elementClass)) {
+            return parentElementRegistration;
         }
-        return CursorTypeRegistrar::elementToDefault;
+        return DEFAULT_REGISTRATION;
     }
 
-    private CursorType parentElementGetChildCursorType(ParentElement parentElement, double mouseX, double mouseY) {
-        CursorType cursorType = CursorType.DEFAULT;
-        for (Element child : parentElement.children()) {
-            if (child instanceof ParentElement childParent) {
-                CursorType parentCursorType = parentElementGetChildCursorType(childParent, mouseX, mouseY);
-                cursorType = parentCursorType != CursorType.DEFAULT ? parentCursorType : cursorType;
+    private Resolution resolveChildren(ParentElement parentElement, double mouseX, double mouseY) {
+        List<? extends Element> children = parentElement.children();
+
+        // topmost child first, the first non-default match is the one a forward scan would have kept last
+        for (int i = children.size() - 1; i >= 0; i--) {
+            Element child = children.get(i);
+            Dispatch dispatch = getDispatch(child);
+            HandlerCircuitBreaker breaker = dispatch.breaker();
+            if (breaker.isOpen()) {
+                continue;
             }
-            if (child.isMouseOver(mouseX, mouseY)) {
-                CursorType childCursorType = getCursorType(child, mouseX, mouseY);
-                cursorType = childCursorType != CursorType.DEFAULT ? childCursorType : cursorType;
+
+            // a failing child is charged to its own element class, not to the parent or the screen
+            try {
+                Resolution childResolution = resolveChild(child, dispatch, mouseX, mouseY);
+                if (breaker.hasFailed()) {
+                    onHandlerSuccess(breaker);
+                }
+                if (childResolution.cursorType() != CursorType.DEFAULT) {
+                    return childResolution;
+                }
+            } catch (Exception e) {
+                onHandlerFailure(breaker, e);
             }
         }
-        return cursorType;
+        return Resolution.NONE;
+    }
+
+    private Resolution resolveChild(Element child, Dispatch dispatch, double mouseX, double mouseY) {
+        boolean isMouseOver = child.isMouseOver(mouseX, mouseY);
+
+        if (isMouseOver) {
+            Resolution childResolution = resolve(child, dispatch, mouseX, mouseY, true);
+            if (childResolution.cursorType() != CursorType.DEFAULT) {
+                return childResolution;
+            }
+        }
+        if (child instanceof ParentElement childParent
+                && (isMouseOver || dispatch.rendersOutsideBounds() || !isOutsideBounds(child, mouseX, mouseY))) {
+            return resolveChildren(childParent, mouseX, mouseY);
+        }
+        return Resolution.NONE;
+    }
+
+    private static boolean isOutsideBounds(Element element, double mouseX, double mouseY) {
+        if (element instanceof EntryListWidget.Entry<?>) {
+            // entries are laid out within their row, which is what isMouseOver already checks
+            return true;
+        }
+        if (!(element instanceof Widget widget) || widget.getWidth() <= 0 || widget.getHeight() <= 0) {
+            return false;
+        }
+        return mouseX < widget.getX()
+                || mouseY < widget.getY()
+                || mouseX >= widget.getX() + widget.getWidth()
+                || mouseY >= widget.getY() + widget.getHeight();
     }
 
     private static CursorType clickableWidgetCursor(Element element, double mouseX, double mouseY) {
@@ -181,4 +389,29 @@ class CursorTypeResolver implements CursorTypeRegistrar {
         TextFieldWidget textField = (TextFieldWidget) element;
         return textField.visible ? CursorType.TEXT : CursorType.DEFAULT;
     }
+
+    /**
+     * The cursor type of a resolution and the element whose handler or provider returned it.
+     * A resolution of the default cursor type has no element and is never allocated.
+     */
+    record Resolution(CursorType cursorType, @Nullable Element element) {
+        static final Resolution NONE = new Resolution(CursorType.DEFAULT, null);
+
+        static Resolution of(@Nullable CursorType cursorType, Element element) {
+            return cursorType == null || cursorType == CursorType.DEFAULT ? NONE : new Resolution(cursorType, element);
+        }
+    }
+
+    private record Registration(ElementCursorTypeFunction<? extends Element> function, boolean rendersOutsideBounds) {
+    }
+
+    private record Dispatch(int version, Registration registration, HandlerCircuitBreaker breaker) {
+        ElementCursorTypeFunction<? extends Element> function() {
+            return registration.function();
+        }
+
+        boolean rendersOutsideBounds() {
+            return registration.rendersOutsideBounds();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.fishstiz.minecraftcursor;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.github.fishstiz.minecraftcursor.util.LookupUtil.RESOLVER;
+
+// tracks the failures of the cursor type function resolved for a single element class
+class HandlerCircuitBreaker {
+    static final int FAILURE_THRESHOLD = 5;
+    private static final long BASE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private final Class<?> elementClass;
+    private String elementClassName;
+    private int consecutiveFailures;
+    private int totalFailures;
+    private int tripCount;
+    private long retryAtNanos;
+
+    HandlerCircuitBreaker(Class<?> elementClass) {
+        this.elementClass = elementClass;
+    }
+
+    boolean isOpen() {
+        return tripCount > 0 && System.nanoTime() - retryAtNanos < 0;
+    }
+
+    boolean hasFailed() {
+        return consecutiveFailures > 0 || tripCount > 0;
+    }
+
+    // returns true if the handler was tripped by a failed retry
+    boolean onSuccess() {
+        boolean wasTripped = tripCount > 0;
+        consecutiveFailures = 0;
+        tripCount = 0;
+        return wasTripped;
+    }
+
+    // returns true if the failure trips the handler
+    boolean onFailure() {
+        consecutiveFailures++;
+        totalFailures++;
+
+        // a failed retry trips the handler again immediately with a longer backoff
+        if (tripCount == 0 && consecutiveFailures < FAILURE_THRESHOLD) {
+            return false;
+        }
+
+        tripCount++;
+        retryAtNanos = System.nanoTime() + getBackoffNanos();
+        return true;
+    }
+
+    long getBackoffNanos() {
+        return Math.min(BASE_BACKOFF_NANOS << Math.min(tripCount - 1, 20), MAX_BACKOFF_NANOS);
+    }
+
+    int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    int getTotalFailures() {
+        return totalFailures;
+    }
+
+    // resolved once, unmapping the class name is too expensive to repeat for every failure
+    String getElementClassName() {
+        if (elementClassName == null) {
+            elementClassName = RESOLVER.unmapClassName("named", elementClass.getName());
+        }
+        return elementClassName;
+    }
+}
@@ -2,20 +2,34 @@ package io.github.fishstiz.minecraftcursor;
 
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.api.MinecraftCursorInitializer;
+import io.github.fishstiz.minecraftcursor.config.CursorConfig;
 import io.github.fishstiz.minecraftcursor.config.CursorConfigLoader;
 import io.github.fishstiz.minecraftcursor.config.CursorConfigService;
+import io.github.fishstiz.minecraftcursor.config.CursorConfigWatcher;
+import io.github.fishstiz.minecraftcursor.cursor.CursorCache;
 import io.github.fishstiz.minecraftcursor.cursor.CursorManager;
 import io.github.fishstiz.minecraftcursor.cursor.CursorTypeRegistry;
+import io.github.fishstiz.minecraftcursor.cursor.ScaleFilter;
+import io.github.fishstiz.minecraftcursor.cursorhandler.HotZoneMap;
 import io.github.fishstiz.minecraftcursor.util.CursorTypeUtil;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenKeyboardEvents;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenMouseEvents;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
 
 public class MinecraftCursorClient implements ClientModInitializer {
     public static final MinecraftClient CLIENT = MinecraftClient.getInstance();
@@ -23,9 +37,14 @@ public class MinecraftCursorClient implements ClientModInitializer {
             new CursorConfigService(String.format("config/%s%s", MinecraftCursor.MOD_ID, CursorConfigLoader.FILE_EXTENSION));
     public static final CursorManager CURSOR_MANAGER = new CursorManager(CONFIG, CLIENT);
     private static final CursorTypeResolver CURSOR_RESOLVER = new CursorTypeResolver();
+    private static final CursorResolutionCache RESOLUTION_CACHE = new CursorResolutionCache();
+    private static final CursorResolutionScheduler RESOLUTION_SCHEDULER = new CursorResolutionScheduler();
     private static MinecraftCursorClient instance;
+    private CursorResourceReloadListener resourceReloadListener;
     private Screen visibleNonCurrentScreen;
     private CursorType singleCycleCursor;
+    private boolean hasMouseInput = true;
+    private final CursorResolutionScheduler.FrameResolver frameResolver = this::applyCursorType;
 
     @Override
     public void onInitializeClient() {
@@ -35,11 +54,16 @@ public class MinecraftCursorClient implements ClientModInitializer {
                 entrypoint -> entrypoint.init(CursorTypeRegistry::put, CURSOR_RESOLVER)
         );
 
-        CursorResourceReloadListener resourceReloadListener = new CursorResourceReloadListener(
-                CURSOR_MANAGER, MinecraftCursor.MOD_ID, CONFIG);
+        CursorCache cursorCache = new CursorCache(FabricLoader.getInstance().getGameDir().resolve(".cache").resolve(MinecraftCursor.MOD_ID));
+        resourceReloadListener = new CursorResourceReloadListener(
+                CURSOR_MANAGER, MinecraftCursor.MOD_ID, CONFIG, cursorCache);
         ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(resourceReloadListener);
 
         ScreenEvents.BEFORE_INIT.register((MinecraftClient client, Screen screen, int width, int height) -> {
+            RESOLUTION_CACHE.invalidate();
+            HotZoneMap.invalidateAll();
+            hasMouseInput = true;
+
             if (client.currentScreen == null) {
                 CURSOR_MANAGER.setCurrentCursor(CursorType.DEFAULT);
                 visibleNonCurrentScreen = screen;
@@ -48,24 +72,60 @@ public class MinecraftCursorClient implements ClientModInitializer {
 
             visibleNonCurrentScreen = null;
             ScreenEvents.afterRender(client.currentScreen).register(this::afterRenderScreen);
+            registerInvalidationEvents(client.currentScreen);
         });
 
         ClientTickEvents.START_CLIENT_TICK.register(this::tick);
+        // saves are written in the background after a quiet period
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> CONFIG.flush());
+
+        CursorConfigWatcher configWatcher = CONFIG.watch((previousConfig, config) -> CLIENT.execute(() -> applyExternalConfig(previousConfig, config)));
+        if (configWatcher != null) {
+            ClientLifecycleEvents.CLIENT_STOPPING.register(client -> configWatcher.close());
+        }
+    }
+
+    private void registerInvalidationEvents(Screen screen) {
+        ScreenMouseEvents.afterMouseClick(screen).register((currentScreen, mouseX, mouseY, button) -> markDirty());
+        ScreenMouseEvents.afterMouseRelease(screen).register((currentScreen, mouseX, mouseY, button) -> markDirty());
+        ScreenMouseEvents.afterMouseScroll(screen).register((currentScreen, mouseX, mouseY, horizontal, vertical) -> markDirty());
+        ScreenKeyboardEvents.afterKeyPress(screen).register((currentScreen, key, scancode, modifiers) -> markDirty());
+        ScreenKeyboardEvents.afterKeyRelease(screen).register((currentScreen, key, scancode, modifiers) -> markDirty());
     }
 
     private void afterRenderScreen(Screen currentScreen, DrawContext context, int mouseX, int mouseY, float tickDelta) {
-        CURSOR_MANAGER.setCurrentCursor(getCursorType(currentScreen, mouseX, mouseY));
+        RESOLUTION_SCHEDULER.request(currentScreen, mouseX, mouseY);
     }
 
     private void tick(MinecraftClient client) {
-        if (client.currentScreen == null && visibleNonCurrentScreen != null && !client.mouse.isCursorLocked()) {
-            double scale = client.getWindow().getScaleFactor();
-            double mouseX = client.mouse.getX() / scale;
-            double mouseY = client.mouse.getY() / scale;
-            CURSOR_MANAGER.setCurrentCursor(getCursorType(visibleNonCurrentScreen, mouseX, mouseY));
+        // screen state that is not driven by input (e.g. inventory updates) changes at most once per tick
+        RESOLUTION_CACHE.invalidate();
+        CURSOR_RESOLVER.tick();
+
+        // the cursor is hidden while locked
+        if (!client.mouse.isCursorLocked()) {
+            CURSOR_MANAGER.tickAnimation();
+        }
+
+        // nothing changes for the visible non-current screen (e.g. under the loading overlay) without mouse input
+        if (client.currentScreen == null && visibleNonCurrentScreen != null && !client.mouse.isCursorLocked()
+                && (hasMouseInput || singleCycleCursor != null)) {
+            requestResolution(visibleNonCurrentScreen);
         }
     }
 
+    private void requestResolution(Screen screen) {
+        double scale = CLIENT.getWindow().getScaleFactor();
+        RESOLUTION_SCHEDULER.request(screen, CLIENT.mouse.getX() / scale, CLIENT.mouse.getY() / scale);
+    }
+
+    private void applyCursorType(Screen screen, double mouseX, double mouseY) {
+        // the screen was replaced after the request
+        if (screen != CLIENT.currentScreen && screen != visibleNonCurrentScreen) return;
+
+        CURSOR_MANAGER.setCurrentCursor(getCursorType(screen, mouseX, mouseY));
+    }
+
     private CursorType getCursorType(Screen currentScreen, double mouseX, double mouseY) {
         if (!CURSOR_MANAGER.isAdaptive()) return CursorType.DEFAULT;
 
@@ -77,16 +137,149 @@ public class MinecraftCursorClient implements ClientModInitializer {
             return singleCycleCursor;
         }
 
-        CursorType cursorType = CURSOR_RESOLVER.getCursorType(currentScreen, mouseX, mouseY);
-        cursorType = cursorType != CursorType.DEFAULT ? cursorType
-                : currentScreen.hoveredElement(mouseX, mouseY)
-                .map(element -> CURSOR_RESOLVER.getCursorType(element, mouseX, mouseY))
-                .orElse(CursorType.DEFAULT);
+        CursorType cursorType = hasMouseInput
+                ? RESOLUTION_CACHE.get(currentScreen, mouseX, mouseY)
+                : RESOLUTION_CACHE.get(currentScreen);
+        hasMouseInput = false;
+
+        if (cursorType == null) {
+            cursorType = CURSOR_RESOLVER.resolve(currentScreen, mouseX, mouseY).cursorType();
+            RESOLUTION_CACHE.put(currentScreen, mouseX, mouseY, cursorType);
+        }
 
         return cursorType;
     }
 
     public static void setSingleCycleCursor(CursorType cursorType) {
         instance.singleCycleCursor = cursorType;
+
+        if (CLIENT.currentScreen != null) {
+            instance.requestResolution(CLIENT.currentScreen);
+        } else if (instance.visibleNonCurrentScreen != null && !CLIENT.mouse.isCursorLocked()) {
+            instance.requestResolution(instance.visibleNonCurrentScreen);
+        }
+    }
+
+    public static void onFrameStart() {
+        CURSOR_MANAGER.applyPendingUpdates();
+        RESOLUTION_SCHEDULER.beginFrame();
+    }
+
+    public static void onFrameEnd() {
+        if (instance == null) {
+            return;
+        }
+
+        RESOLUTION_SCHEDULER.endFrame(instance.frameResolver);
+
+        // lazily created cursors are created ahead of use one per frame, only in frames that resolved nothing
+        if (RESOLUTION_SCHEDULER.getFrameResolutions() == 0 && CONFIG.get().isPrewarmCursors()) {
+            CURSOR_MANAGER.prewarmNextCursor();
+        }
+    }
+
+    // changes made to the config file outside the game, only the changed cursors are rebuilt
+    // merged with the changes made in game that were not written yet, which are then saved with them
+    private static void applyExternalConfig(@Nullable CursorConfig previousConfig, CursorConfig changedConfig) {
+        CursorConfig externalConfig;
+        try {
+            externalConfig = CONFIG.merge(previousConfig, changedConfig);
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.error("Failed to merge external config changes", e);
+            return;
+        }
+
+        CursorConfig config = CONFIG.get();
+        String previousTheme = config.getTheme();
+        ScaleFilter previousScaleFilter = config.getScaleFilter();
+
+        config.set_hash(externalConfig.get_hash());
+        config.copyOptions(externalConfig);
+
+        int changedCursors = 0;
+        for (Map.Entry<String, CursorConfig.Settings> entry : externalConfig.getSettings().entrySet()) {
+            CursorType type = CursorTypeRegistry.getCursorTypeOrNull(entry.getKey());
+            if (type == null) {
+                continue;
+            }
+
+            CursorConfig.Settings settings = config.getOrCreateCursorSettings(type);
+            CursorConfig.Settings externalSettings = entry.getValue();
+            if (CursorConfigService.hasChanges(settings, externalSettings)) {
+                settings.update(externalSettings.getScale(), externalSettings.getXHot(), externalSettings.getYHot(), externalSettings.getEnabled());
+                CURSOR_MANAGER.applySettings(type, settings);
+                changedCursors++;
+            }
+        }
+
+        if (!previousTheme.equals(config.getTheme())) {
+            switchTheme(config.getTheme());
+        }
+        if (previousScaleFilter != config.getScaleFilter()) {
+            MinecraftCursor.LOGGER.info("The scale filter is applied on the next resource reload");
+        }
+
+        // not written if it serializes to the bytes of the changed file, see CursorConfigWriter
+        CONFIG.save();
+        markDirty();
+        MinecraftCursor.LOGGER.info("Applied external config changes, {} cursors changed", changedCursors);
+    }
+
+    // switches in the same frame if the theme is in memory, otherwise it is loaded in the background first
+    public static void setTheme(String theme) {
+        CONFIG.get().setTheme(theme);
+        CONFIG.save();
+        switchTheme(theme);
+    }
+
+    private static void switchTheme(String theme) {
+        if (CURSOR_MANAGER.setTheme(theme) || instance == null) {
+            return;
+        }
+
+        instance.resourceReloadListener.loadTheme(theme, CLIENT.getResourceManager(), Util.getMainWorkerExecutor(), CLIENT)
+                .whenComplete((cursorTheme, throwable) -> {
+                    if (throwable != null) {
+                        MinecraftCursor.LOGGER.error("Failed to load cursor theme {}", theme, throwable);
+                    } else if (cursorTheme == null) {
+                        MinecraftCursor.LOGGER.warn("Cursor theme {} not found", theme);
+                    } else {
+                        CURSOR_MANAGER.addTheme(cursorTheme);
+                        // another theme may have been selected while this one was loading
+                        if (CONFIG.get().getTheme().equals(theme)) {
+                            CURSOR_MANAGER.setTheme(theme);
+                        }
+                    }
+                });
+    }
+
+    public static String getTheme() {
+        return CURSOR_MANAGER.getTheme();
+    }
+
+    public static Set<String> getThemes() {
+        return CURSOR_MANAGER.getThemes();
+    }
+
+    public static int getLastFrameResolutions() {
+        return RESOLUTION_SCHEDULER.getLastFrameResolutions();
+    }
+
+    public static long getTotalResolutions() {
+        return RESOLUTION_SCHEDULER.getTotalResolutions();
+    }
+
+    public static void onMouseInput() {
+        if (instance != null) {
+            instance.hasMouseInput = true;
+        }
+    }
+
+    public static void markDirty() {
+        RESOLUTION_CACHE.invalidate();
+    }
+
+    public static Map<String, Integer> getTrippedHandlers() {
+        return CURSOR_RESOLVER.getTrippedHandlers();
     }
 }
@@ -3,6 +3,9 @@ package io.github.fishstiz.minecraftcursor.api;
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
 import io.github.fishstiz.minecraftcursor.cursor.CursorManager;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Provides methods that allow direct control of the cursor.
  */
@@ -43,6 +46,83 @@ public class CursorController {
         MinecraftCursorClient.setSingleCycleCursor(cursorType);
     }
 
+    /**
+     * Marks the state of the current screen as changed, forcing its cursor type to be resolved again.
+     *
+     * <p>The resolved cursor type is reused while the mouse, the held buttons and the screen do not change.
+     * Call this from a {@link CursorHandler} or {@link CursorProvider} when the cursor type depends on a state
+     * that changes outside of input events and client ticks.</p>
+     */
+    public void markDirty() {
+        MinecraftCursorClient.markDirty();
+    }
+
+    /**
+     * Switches to the cursor theme with the given name and saves it to the config.
+     *
+     * <p>Themes are the textures in {@code textures/cursors/themes/<name>}, the default theme is
+     * {@code ""}. Recently used themes are kept in memory and switched to within the same frame,
+     * other themes are loaded in the background first. Cursor types the theme does not have use its
+     * default cursor.</p>
+     *
+     * @param theme the name of the theme
+     */
+    public void setTheme(String theme) {
+        MinecraftCursorClient.setTheme(theme);
+    }
+
+    /**
+     * Returns the name of the active cursor theme.
+     *
+     * @return the name of the active theme, {@code ""} for the default theme
+     */
+    public String getTheme() {
+        return MinecraftCursorClient.getTheme();
+    }
+
+    /**
+     * Returns the names of the cursor themes provided by the loaded resources.
+     *
+     * @return the names of the available themes, including {@code ""} for the default theme
+     */
+    public Set<String> getThemes() {
+        return MinecraftCursorClient.getThemes();
+    }
+
+    /**
+     * Returns the number of times the cursor type was resolved during the last completed frame.
+     *
+     * <p>Resolution requests from screen rendering, client ticks and {@link #setSingleCycleCursor(CursorType)}
+     * are coalesced, so this is never more than {@code 1}.</p>
+     *
+     * @return the number of resolutions of the last frame
+     */
+    public int getLastFrameResolutions() {
+        return MinecraftCursorClient.getLastFrameResolutions();
+    }
+
+    /**
+     * Returns the number of times the cursor type was resolved since the game started.
+     *
+     * @return the total number of resolutions
+     */
+    public long getTotalResolutions() {
+        return MinecraftCursorClient.getTotalResolutions();
+    }
+
+    /**
+     * Returns the element classes whose cursor type could not be resolved repeatedly and are temporarily disabled.
+     *
+     * <p>A {@link CursorHandler} or {@link CursorProvider} that throws
+     * five times in a row is skipped for that element class
+     * and retried with an increasing delay. It is re-enabled after a successful retry.</p>
+     *
+     * @return the fully qualified names of the disabled element classes mapped to their total number of failures
+     */
+    public Map<String, Integer> getTrippedHandlers() {
+        return MinecraftCursorClient.getTrippedHandlers();
+    }
+
     /**
      * Override the current cursor with a specified type and index.
      * If multiple overrides exist, the one with the highest index takes precedence.
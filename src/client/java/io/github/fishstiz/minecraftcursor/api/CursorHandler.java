@@ -41,6 +41,19 @@ public interface CursorHandler<T extends Element> {
      */
     CursorType getCursorType(T element, double mouseX, double mouseY);
 
+    /**
+     * Returns whether the target element or its children can be hovered outside of its bounds.
+     *
+     * <p>The children of a {@link net.minecraft.client.gui.widget.Widget} or of a list entry are skipped
+     * while the mouse is outside of its bounds. Override this to return {@code true} if the target element
+     * draws outside of its bounds (e.g. dropdowns and popups) so that its children are always checked.</p>
+     *
+     * @return {@code true} if the children of the target element should never be skipped
+     */
+    default boolean rendersOutsideBounds() {
+        return false;
+    }
+
     /**
      * The record that represents the target element of the {@link CursorHandler}.
      * <p>
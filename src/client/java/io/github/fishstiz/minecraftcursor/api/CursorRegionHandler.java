@@ -0,0 +1,66 @@
+package io.github.fishstiz.minecraftcursor.api;
+
+import net.minecraft.client.gui.Element;
+
+/**
+ * A {@link CursorHandler} that describes the cursor regions of its target element declaratively.
+ *
+ * <p>The regions are described once per layout through {@link #buildRegions(Element, CursorRegions)}
+ * and indexed by Minecraft Cursor, so finding the hovered region does not loop over the regions every frame.
+ * The regions are rebuilt when the screen is initialized or resized, and when {@link #getLayoutKey(Element)} changes.</p>
+ *
+ * <p>{@link #getCursorType(Element, double, double)} is still called first for any state that cannot be described
+ * as a region. The regions are only checked if it returns {@link CursorType#DEFAULT}.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * register(new CursorRegionHandler<MyScreen>() {
+ *     @Override
+ *     public void buildRegions(MyScreen myScreen, CursorRegions<MyScreen> regions) {
+ *         regions.rect(myScreen.x + 8, myScreen.y + 8, 20, 20, (screen, index) -> CursorType.POINTER)
+ *                .grid(myScreen.x + 8, myScreen.y + 32, 4, 3, 16, 16, MyScreen::getScrollOffset,
+ *                        (screen, index) -> index < screen.getItemCount() ? CursorType.POINTER : CursorType.DEFAULT);
+ *     }
+ *
+ *     @Override
+ *     public long getLayoutKey(MyScreen myScreen) {
+ *         return ((long) myScreen.x << 32) | myScreen.y;
+ *     }
+ * });
+ * }</pre>
+ *
+ * @param <T> the type of the {@link Element} the cursor handler is associated with.
+ */
+public interface CursorRegionHandler<T extends Element> extends CursorHandler<T> {
+    /**
+     * Describes the regions of the element. Called once per layout, not every frame.
+     *
+     * @param element the element to describe the regions of
+     * @param regions the builder to add the regions to, only valid during this call
+     */
+    void buildRegions(T element, CursorRegions<T> regions);
+
+    /**
+     * Returns a key that identifies the current layout of the element, such as its position.
+     * The regions are rebuilt when the key changes.
+     *
+     * @param element the element the regions are built for
+     * @return the key of the current layout
+     */
+    default long getLayoutKey(T element) {
+        return 0;
+    }
+
+    /**
+     * Retrieves the cursor type of any state that is not described by the regions.
+     *
+     * @param element the element the cursor is hovering over
+     * @param mouseX  the X coordinate of the mouse
+     * @param mouseY  the Y coordinate of the mouse
+     * @return the {@link CursorType} to be applied, or {@link CursorType#DEFAULT} to check the regions
+     */
+    @Override
+    default CursorType getCursorType(T element, double mouseX, double mouseY) {
+        return CursorType.DEFAULT;
+    }
+}
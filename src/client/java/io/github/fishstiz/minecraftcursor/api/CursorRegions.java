@@ -0,0 +1,80 @@
+package io.github.fishstiz.minecraftcursor.api;
+
+import net.minecraft.client.gui.Element;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * The builder used by {@link CursorRegionHandler#buildRegions(Element, CursorRegions)} to describe the cursor regions
+ * of an element in screen coordinates.
+ *
+ * <p>Regions added first take precedence where regions overlap. An element can have at most 255 regions,
+ * a grid counts as a single region.</p>
+ *
+ * @param <T> the type of the {@link Element} the regions are described for
+ */
+public interface CursorRegions<T extends Element> {
+    /**
+     * Adds a rectangular region.
+     *
+     * @param x                   the X coordinate of the region
+     * @param y                   the Y coordinate of the region
+     * @param width               the width of the region
+     * @param height              the height of the region
+     * @param cellToCursorType    the function that returns the cursor type of the region, the index is always {@code 0}
+     * @return this builder
+     */
+    CursorRegions<T> rect(int x, int y, int width, int height, CellCursorTypeFunction<T> cellToCursorType);
+
+    /**
+     * Adds a grid of uniform cells. Cells are indexed from left to right, then top to bottom.
+     *
+     * @param x                the X coordinate of the grid
+     * @param y                the Y coordinate of the grid
+     * @param columns          the number of columns
+     * @param rows             the number of rows
+     * @param cellWidth        the width of each cell
+     * @param cellHeight       the height of each cell
+     * @param cellToCursorType the function that returns the cursor type of the hovered cell
+     * @return this builder
+     */
+    default CursorRegions<T> grid(int x, int y, int columns, int rows, int cellWidth, int cellHeight,
+                                  CellCursorTypeFunction<T> cellToCursorType) {
+        return grid(x, y, columns, rows, cellWidth, cellHeight, null, cellToCursorType);
+    }
+
+    /**
+     * Adds a scrollable grid of uniform cells. Cells are indexed from left to right, then top to bottom,
+     * starting from the scroll offset.
+     *
+     * @param x                the X coordinate of the grid
+     * @param y                the Y coordinate of the grid
+     * @param columns          the number of columns
+     * @param rows             the number of visible rows
+     * @param cellWidth        the width of each cell
+     * @param cellHeight       the height of each cell
+     * @param scrollOffset     the function that returns the index of the first visible cell, evaluated on hover
+     * @param cellToCursorType the function that returns the cursor type of the hovered cell
+     * @return this builder
+     */
+    CursorRegions<T> grid(int x, int y, int columns, int rows, int cellWidth, int cellHeight,
+                          ToIntFunction<T> scrollOffset, CellCursorTypeFunction<T> cellToCursorType);
+
+    /**
+     * A functional interface that determines the {@link CursorType} of a hovered region or grid cell.
+     * It is evaluated on hover, so it can depend on the current state of the element.
+     *
+     * @param <T> the type of the {@link Element}
+     */
+    @FunctionalInterface
+    interface CellCursorTypeFunction<T extends Element> {
+        /**
+         * Determines the cursor type of the hovered cell.
+         *
+         * @param element the element the regions are described for
+         * @param index   the index of the hovered cell including the scroll offset
+         * @return the {@link CursorType} to be applied
+         */
+        CursorType getCursorType(T element, int index);
+    }
+}
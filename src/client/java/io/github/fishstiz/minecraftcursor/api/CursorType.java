@@ -24,13 +24,13 @@ public interface CursorType {
     CursorType DEFAULT = CursorTypeRegistry.put("default");
 
     /**
-     * The cursor type is determined in two passes:
+     * The cursor type is determined in a single pass over the current screen:
      * <ol>
-     *  <li>The first pass computes the cursor type for the current screen.</li>
-     *  <li>The second pass computes the cursor type for the hovered element,
-     *      but is skipped if the first pass result is not {@link CursorType#DEFAULT}.</li>
+     *  <li>The cursor type of the current screen is computed first.</li>
+     *  <li>If the screen has no cursor handler, its children are traversed.
+     *      Otherwise, the hovered element is resolved if the screen's result is {@link CursorType#DEFAULT}.</li>
      * </ol>
-     * This cursor type ensures that the second pass is skipped
+     * This cursor type stops the traversal and the hovered element from being resolved,
      * and forces the cursor type to fall back to {@link CursorType#DEFAULT} since it is not a real cursor type.
      */
     CursorType DEFAULT_FORCE = () -> "";
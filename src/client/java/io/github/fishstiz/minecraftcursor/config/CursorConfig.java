@@ -3,8 +3,14 @@ package io.github.fishstiz.minecraftcursor.config;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
+import io.github.fishstiz.minecraftcursor.cursor.CursorTheme;
+import io.github.fishstiz.minecraftcursor.cursor.ScaleFilter;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CursorConfig {
@@ -20,10 +26,19 @@ public class CursorConfig {
     private boolean advancementTabsEnabled = true;
     private boolean worldIconEnabled = true;
     private boolean serverIconEnabled = true;
+    private ScaleFilter scaleFilter = ScaleFilter.NEAREST;
+    private boolean lazyCursorCreation = true;
+    private boolean prewarmCursors = true;
+    private boolean diskCacheEnabled = true;
+    private String theme = CursorTheme.DEFAULT;
 
     @JsonProperty
     protected Map<String, Settings> settings = new HashMap<>();
 
+    // only provided by resource packs, never written to the user config
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    protected Map<String, Animation> animations = new HashMap<>();
+
     public Settings getOrCreateCursorSettings(CursorType type) {
         return settings.computeIfAbsent(type.getKey(), k -> new Settings());
     }
@@ -45,6 +60,18 @@ public class CursorConfig {
         return settings;
     }
 
+    public @Nullable Animation getAnimation(CursorType type) {
+        return getAnimation(CursorTheme.DEFAULT, type);
+    }
+
+    // animations of theme textures are declared as "<theme>/<cursor key>"
+    public @Nullable Animation getAnimation(String theme, CursorType type) {
+        if (animations == null) {
+            return null;
+        }
+        return animations.get(theme.isEmpty() ? type.getKey() : theme + "/" + type.getKey());
+    }
+
     public void setSettings(Map<String, Settings> settings) {
         this.settings = settings;
     }
@@ -129,6 +156,65 @@ public class CursorConfig {
         this.serverIconEnabled = serverIconEnabled;
     }
 
+    public ScaleFilter getScaleFilter() {
+        return scaleFilter != null ? scaleFilter : ScaleFilter.NEAREST;
+    }
+
+    public void setScaleFilter(ScaleFilter scaleFilter) {
+        this.scaleFilter = scaleFilter;
+    }
+
+    public boolean isLazyCursorCreation() {
+        return lazyCursorCreation;
+    }
+
+    public void setLazyCursorCreation(boolean lazyCursorCreation) {
+        this.lazyCursorCreation = lazyCursorCreation;
+    }
+
+    public boolean isPrewarmCursors() {
+        return prewarmCursors;
+    }
+
+    public void setPrewarmCursors(boolean prewarmCursors) {
+        this.prewarmCursors = prewarmCursors;
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return diskCacheEnabled;
+    }
+
+    public void setDiskCacheEnabled(boolean diskCacheEnabled) {
+        this.diskCacheEnabled = diskCacheEnabled;
+    }
+
+    public String getTheme() {
+        return theme != null ? theme : CursorTheme.DEFAULT;
+    }
+
+    public void setTheme(String theme) {
+        this.theme = theme;
+    }
+
+    // everything except the cursor settings and animations
+    public void copyOptions(CursorConfig other) {
+        itemSlotEnabled = other.itemSlotEnabled;
+        itemGrabbingEnabled = other.itemGrabbingEnabled;
+        creativeTabsEnabled = other.creativeTabsEnabled;
+        enchantmentsEnabled = other.enchantmentsEnabled;
+        stonecutterRecipesEnabled = other.stonecutterRecipesEnabled;
+        bookEditEnabled = other.bookEditEnabled;
+        loomPatternsEnabled = other.loomPatternsEnabled;
+        advancementTabsEnabled = other.advancementTabsEnabled;
+        worldIconEnabled = other.worldIconEnabled;
+        serverIconEnabled = other.serverIconEnabled;
+        scaleFilter = other.getScaleFilter();
+        lazyCursorCreation = other.lazyCursorCreation;
+        prewarmCursors = other.prewarmCursors;
+        diskCacheEnabled = other.diskCacheEnabled;
+        theme = other.getTheme();
+    }
+
     public static class Defaults {
         public static final double SCALE = 1.0;
         public static final double SCALE_MIN = 0.5;
@@ -190,4 +276,46 @@ public class CursorConfig {
             return settings;
         }
     }
+
+    public static class Animation {
+        private int frametime = 1;
+        private List<Frame> frames = new ArrayList<>();
+
+        public int getFrametime() {
+            return frametime;
+        }
+
+        public void setFrametime(int frametime) {
+            this.frametime = frametime;
+        }
+
+        public List<Frame> getFrames() {
+            return frames != null ? frames : List.of();
+        }
+
+        public void setFrames(List<Frame> frames) {
+            this.frames = frames;
+        }
+    }
+
+    public static class Frame {
+        private int index;
+        private @Nullable Integer time;
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public @Nullable Integer getTime() {
+            return time;
+        }
+
+        public void setTime(@Nullable Integer time) {
+            this.time = time;
+        }
+    }
 }
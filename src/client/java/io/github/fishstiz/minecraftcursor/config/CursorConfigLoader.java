@@ -1,21 +1,28 @@
 package io.github.fishstiz.minecraftcursor.config;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.fishstiz.minecraftcursor.MinecraftCursor;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.cursor.CursorTypeRegistry;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 public class CursorConfigLoader {
     public static final String FILE_EXTENSION = ".json";
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private final String path;
+    private final @Nullable CursorConfigWriter writer;
     private CursorConfig config;
 
     public CursorConfigLoader(InputStream stream) {
@@ -28,26 +35,25 @@ public class CursorConfigLoader {
 
     private CursorConfigLoader(String path, @Nullable InputStream stream, boolean createIfNotFound) {
         this.path = path;
+        this.writer = path.isEmpty() ? null : new CursorConfigWriter(Path.of(path));
 
         init(createIfNotFound, stream);
     }
 
     private void init(boolean createIfNotFound, @Nullable InputStream stream) {
         load(createIfNotFound, stream);
-
-        if (config != null && config.get_hash() == null) {
-            generateHash();
-        }
     }
 
     public void load(boolean createIfNotFound, @Nullable InputStream stream) {
         try {
             if (stream != null) {
                 config = MAPPER.readValue(stream, CursorConfig.class);
-            } else if (!path.isEmpty()) {
-                config = MAPPER.readValue(new File(path), CursorConfig.class);
+            } else if (writer != null) {
+                byte[] bytes = Files.readAllBytes(Path.of(path));
+                config = MAPPER.readValue(bytes, CursorConfig.class);
+                writer.setWrittenBytes(bytes);
             }
-        } catch (FileNotFoundException e) {
+        } catch (FileNotFoundException | NoSuchFileException e) {
             if (createIfNotFound) {
                 MinecraftCursor.LOGGER.warn("Config not found, creating config file at: {}", path);
                 createDefault();
@@ -58,8 +64,47 @@ public class CursorConfigLoader {
         }
     }
 
+    public static CursorConfig parse(byte[] bytes) throws IOException {
+        return MAPPER.readValue(bytes, CursorConfig.class);
+    }
+
+    // starts watching the config file for changes made outside the game, null if it cannot be watched
+    public @Nullable CursorConfigWatcher watch(BiConsumer<@Nullable CursorConfig, CursorConfig> listener) {
+        return writer != null ? CursorConfigWatcher.start(Path.of(path), writer, listener) : null;
+    }
+
+    /**
+     * Merges a config file that was changed outside the game into the current config.
+     *
+     * <p>Only the values that differ between the previous and the changed file replace the current ones, so changes
+     * made in game that were not written yet are kept. Without a previous file, the changed file replaces every value
+     * it contains.</p>
+     */
+    public CursorConfig merge(@Nullable CursorConfig previousConfig, CursorConfig externalConfig) throws IOException {
+        ObjectNode merged = MAPPER.valueToTree(config);
+        mergeChanges(merged, previousConfig != null ? MAPPER.valueToTree(previousConfig) : null, MAPPER.valueToTree(externalConfig));
+        return MAPPER.treeToValue(merged, CursorConfig.class);
+    }
+
+    private static void mergeChanges(ObjectNode target, @Nullable JsonNode previous, JsonNode external) {
+        Iterator<Map.Entry<String, JsonNode>> fields = external.fields();
+
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode previousValue = previous != null ? previous.get(field.getKey()) : null;
+
+            if (field.getValue().isObject() && target.get(field.getKey()) instanceof ObjectNode targetValue) {
+                mergeChanges(targetValue, previousValue, field.getValue());
+            } else if (!field.getValue().equals(previousValue)) {
+                target.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
     public void createDefault() {
         CursorConfig defaultConfig = new CursorConfig();
+        // not a config of an earlier version, the resource settings are applied on the first reload
+        defaultConfig.set_hash("");
 
         for (CursorType type : CursorTypeRegistry.types()) {
             defaultConfig.getOrCreateCursorSettings(type);
@@ -69,37 +114,27 @@ public class CursorConfigLoader {
         save();
     }
 
+    // serialized on the calling thread, the file is written in the background
     public void save() {
+        if (writer == null) {
+            return;
+        }
+
         try {
-            MAPPER.writerWithDefaultPrettyPrinter().writeValue(new File(path), config);
+            writer.write(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(config));
         } catch (IOException e) {
             MinecraftCursor.LOGGER.error("Failed to save config file", e);
         }
     }
 
-    public CursorConfig config() {
-        return this.config;
-    }
-
-    // generate hash to check if resource has changed for cursor
-    private void generateHash() {
-        long hash = 0;
-        long prime = 31;
-
-        for (Map.Entry<String, CursorConfig.Settings> entry : config.settings.entrySet()) {
-            String key = entry.getKey();
-            CursorConfig.Settings value = entry.getValue();
-
-            for (char c : key.toCharArray()) {
-                hash = hash * prime + c;
-            }
-
-            hash = hash * prime + (long) value.getScale();
-            hash = hash * prime + value.getXHot();
-            hash = hash * prime + value.getYHot();
-            hash = hash * prime + (value.getEnabled() ? 1 : 0);
+    // writes a pending save immediately
+    public void flush() {
+        if (writer != null) {
+            writer.flush();
         }
+    }
 
-        config.set_hash(Long.toHexString(hash));
+    public CursorConfig config() {
+        return this.config;
     }
 }
@@ -1,6 +1,10 @@
 package io.github.fishstiz.minecraftcursor.config;
 
 import io.github.fishstiz.minecraftcursor.cursor.Cursor;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
 
 public class CursorConfigService {
     private final CursorConfigLoader loader;
@@ -27,11 +31,28 @@ public class CursorConfigService {
             }
         }
 
+        // a forced save of an unchanged config is not written, see CursorConfigWriter
         if (hasApplied || force) {
             this.loader.save();
         }
     }
 
+    public void save() {
+        this.loader.save();
+    }
+
+    public @Nullable CursorConfigWatcher watch(BiConsumer<@Nullable CursorConfig, CursorConfig> listener) {
+        return this.loader.watch(listener);
+    }
+
+    public CursorConfig merge(@Nullable CursorConfig previousConfig, CursorConfig externalConfig) throws IOException {
+        return this.loader.merge(previousConfig, externalConfig);
+    }
+
+    public void flush() {
+        this.loader.flush();
+    }
+
     public CursorConfig get() {
         return this.loader.config();
     }
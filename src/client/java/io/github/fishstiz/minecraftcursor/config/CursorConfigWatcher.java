@@ -0,0 +1,133 @@
+package io.github.fishstiz.minecraftcursor.config;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads the config file again when it is changed outside the game, e.g. replaced by a deployment tool.
+ *
+ * <p>The file is read and parsed on the watcher thread. Contents that were written by the game, or that were
+ * already read, are ignored. The listener is called with the parsed config and the config the file contained
+ * before, null if unknown, and must move to the render thread itself.</p>
+ */
+public class CursorConfigWatcher implements AutoCloseable {
+    // editors and atomic replaces produce several events per save
+    private static final long SETTLE_MS = 100;
+    private final Path path;
+    private final CursorConfigWriter writer;
+    private final BiConsumer<@Nullable CursorConfig, CursorConfig> listener;
+    private final WatchService watchService;
+
+    private CursorConfigWatcher(Path path, CursorConfigWriter writer, BiConsumer<@Nullable CursorConfig, CursorConfig> listener, WatchService watchService) {
+        this.path = path;
+        this.writer = writer;
+        this.listener = listener;
+        this.watchService = watchService;
+    }
+
+    static @Nullable CursorConfigWatcher start(Path path, CursorConfigWriter writer, BiConsumer<@Nullable CursorConfig, CursorConfig> listener) {
+        Path absolutePath = path.toAbsolutePath();
+
+        try {
+            WatchService watchService = absolutePath.getFileSystem().newWatchService();
+            absolutePath.getParent().register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY
+            );
+
+            CursorConfigWatcher watcher = new CursorConfigWatcher(absolutePath, writer, listener, watchService);
+            Thread thread = new Thread(watcher::run, "Minecraft Cursor Config Watcher");
+            thread.setDaemon(true);
+            thread.start();
+            return watcher;
+        } catch (IOException | UnsupportedOperationException e) {
+            MinecraftCursor.LOGGER.warn("Failed to watch config file {}, external changes require a restart", path, e);
+        }
+        return null;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context());
+                }
+                if (!key.reset()) {
+                    MinecraftCursor.LOGGER.warn("Config directory is no longer watched");
+                    return;
+                }
+
+                if (changed) {
+                    Thread.sleep(SETTLE_MS);
+                    onChanged();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // closed
+        }
+    }
+
+    private void onChanged() {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.warn("Failed to read changed config file", e);
+            return;
+        }
+
+        if (writer.isWritten(bytes)) {
+            return;
+        }
+
+        CursorConfig config;
+        try {
+            config = CursorConfigLoader.parse(bytes);
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.warn("Ignoring invalid config file change: {}", e.getMessage());
+            return;
+        }
+
+        CursorConfig previousConfig = parsePrevious(writer.getWrittenBytes());
+        writer.setWrittenBytes(bytes);
+        listener.accept(previousConfig, config);
+    }
+
+    private static @Nullable CursorConfig parsePrevious(byte @Nullable [] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+
+        try {
+            return CursorConfigLoader.parse(bytes);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.debug("Failed to close config watcher", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.fishstiz.minecraftcursor.config;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the serialized config off the render thread.
+ *
+ * <p>Saves within {@link #QUIET_PERIOD_MS} of each other are coalesced into a single write of the latest bytes.
+ * Bytes identical to the file are not written, and the file is replaced atomically so that it is never partially
+ * written.</p>
+ */
+public class CursorConfigWriter {
+    private static final long QUIET_PERIOD_MS = 500;
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Minecraft Cursor Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Path path;
+    // serializes the file I/O of concurrent flushes, so that older bytes never replace newer ones
+    private final Object ioLock = new Object();
+    private byte @Nullable [] pendingBytes;
+    private byte @Nullable [] writtenBytes;
+    private @Nullable ScheduledFuture<?> scheduledWrite;
+
+    public CursorConfigWriter(Path path) {
+        this.path = path;
+    }
+
+    // the bytes that are on disk, a pending write is held back so that it does not overwrite them unmerged
+    // the pending bytes are kept and written by flush() unless a merged config is saved with write() first
+    public synchronized void setWrittenBytes(byte[] bytes) {
+        if (scheduledWrite != null) {
+            scheduledWrite.cancel(false);
+            scheduledWrite = null;
+        }
+        writtenBytes = bytes;
+    }
+
+    public synchronized byte @Nullable [] getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    public synchronized boolean isWritten(byte[] bytes) {
+        return Arrays.equals(bytes, writtenBytes);
+    }
+
+    public synchronized void write(byte[] bytes) {
+        pendingBytes = bytes;
+
+        if (scheduledWrite != null) {
+            scheduledWrite.cancel(false);
+        }
+        scheduledWrite = EXECUTOR.schedule(this::flush, QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // writes the pending bytes on the calling thread, e.g. when the client is stopping
+    // the monitor is not held during I/O, so that a write() on the render thread never waits for the disk
+    public void flush() {
+        synchronized (ioLock) {
+            byte[] bytes = takePendingBytes();
+            if (bytes == null) {
+                return;
+            }
+
+            try {
+                writeAtomically(bytes);
+                setWritten(bytes);
+            } catch (IOException e) {
+                MinecraftCursor.LOGGER.error("Failed to save config file", e);
+            }
+        }
+    }
+
+    private synchronized byte @Nullable [] takePendingBytes() {
+        if (scheduledWrite != null) {
+            scheduledWrite.cancel(false);
+            scheduledWrite = null;
+        }
+
+        byte[] bytes = pendingBytes;
+        pendingBytes = null;
+        return bytes == null || Arrays.equals(bytes, writtenBytes) ? null : bytes;
+    }
+
+    private synchronized void setWritten(byte[] bytes) {
+        writtenBytes = bytes;
+    }
+
+    private void writeAtomically(byte[] bytes) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
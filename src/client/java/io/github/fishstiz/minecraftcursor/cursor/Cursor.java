@@ -1,75 +1,228 @@
 package io.github.fishstiz.minecraftcursor.cursor;
 
-import io.github.fishstiz.minecraftcursor.MinecraftCursor;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
-import io.github.fishstiz.minecraftcursor.util.BufferedImageUtil;
 import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWImage;
 
-import java.awt.image.BufferedImage;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Cursor {
+    private static final int MAX_VARIANTS = 8;
     private final CursorType type;
+    // native cursors of recently used settings, so that switching back to them does not create them again
+    private LinkedHashMap<Variant, long[]> variants = createVariantCache();
+    private int variantHits;
+    private int variantMisses;
     private Identifier sprite;
-    private String base64Image;
-    private long id = 0;
+    private CursorTexture texture;
+    // the native cursor of each frame of the current variant
+    private long @Nullable [] ids;
+    // the frames scaled at load, kept until the native cursors are first created
+    private CursorImage @Nullable [] pendingFrames;
+    private @Nullable CursorAnimation animation;
+    private int animationPosition;
+    private int animationTicks;
     private double scale;
     private int xhot;
     private int yhot;
     private boolean enabled;
     private boolean loaded;
+    // changes made while dragging a slider are coalesced and rebuilt at most once per frame
+    private boolean updatePending;
+    private double pendingScale;
+    private int pendingXhot;
+    private int pendingYhot;
+    // the callbacks of every change coalesced into the pending update, each is run once after it
+    private final List<Runnable> pendingOnUpdates = new ArrayList<>();
 
     public Cursor(CursorType type) {
         this.type = type;
     }
 
-    public void loadImage(Identifier sprite, BufferedImage image, double scale, int xhot, int yhot, boolean enabled) throws IOException {
+    // takes ownership of the texture and the scaled frames, which are the result of texture.scale(scale)
+    // the native cursors are not created until create() is called
+    public void loadImage(Identifier sprite, CursorTexture texture, CursorImage[] scaledFrames, double scale, int xhot, int yhot, boolean enabled) {
         this.sprite = sprite;
-        this.base64Image = BufferedImageUtil.compressImageToBase64(image);
         this.enabled = enabled;
 
-        create(image, scale, xhot, yhot, null);
+        releasePendingFrames();
+
+        // the source pixels are kept so that rebuilds do not decode the texture again
+        CursorTexture previousTexture = this.texture;
+        this.texture = texture;
+        this.animation = texture.getAnimation();
+        resetAnimation();
+        if (previousTexture != null) {
+            previousTexture.close();
+        }
+
+        List<long[]> previousIds = new ArrayList<>(variants.values());
+        variants.clear();
+        updatePending = false;
+        pendingOnUpdates.clear();
+
+        this.ids = null;
+        this.pendingFrames = scaledFrames;
+        loaded = true;
+        this.scale = scale;
+        this.xhot = xhot;
+        this.yhot = yhot;
+
+        for (long[] previousVariantIds : previousIds) {
+            destroyVariant(previousVariantIds);
+        }
+    }
+
+    // creates the native cursors of the current settings, returns false if there is no image to create them from
+    public boolean create() {
+        if (ids != null) {
+            return true;
+        }
+        if (!loaded) {
+            return false;
+        }
+
+        CursorImage[] scaledFrames = pendingFrames != null ? pendingFrames : texture.scale(scale);
+        pendingFrames = null;
+
+        variantMisses++;
+        this.ids = createVariant(scaledFrames, scale, xhot, yhot);
+        variants.put(new Variant(scale, xhot, yhot), this.ids);
+        return true;
+    }
+
+    public boolean isCreated() {
+        return ids != null;
     }
 
-    private void updateImage(double scale, int xhot, int yhot, Runnable onUpdate) {
-        if (id == 0) {
+    private void releasePendingFrames() {
+        if (pendingFrames == null) {
             return;
         }
 
-        try {
-            BufferedImage image = BufferedImageUtil.decompressBase64ToImage(base64Image);
-            create(image, scale, xhot, yhot, onUpdate);
-            image.flush();
-        } catch (IOException e) {
-            MinecraftCursor.LOGGER.error("Error updating image of {}: {}", type, e);
+        for (CursorImage frame : pendingFrames) {
+            if (!texture.owns(frame)) {
+                frame.close();
+            }
         }
+        pendingFrames = null;
     }
 
-    private void create(BufferedImage image, double scale, int xhot, int yhot, @Nullable Runnable onCreate) {
-        BufferedImage scaledImage = scale == 1 ? image : BufferedImageUtil.scaleImage(image, scale);
-        int scaledXHot = scale == 1 ? xhot : (int) Math.round(xhot * scale);
-        int scaledYHot = scale == 1 ? yhot : (int) Math.round(yhot * scale);
+    /**
+     * Takes the images and native cursors of this cursor, leaving it unloaded until {@link #attach(State)}.
+     * The sprite is kept so that open screens can still draw it.
+     */
+    public @Nullable State detach() {
+        if (!loaded) {
+            return null;
+        }
+
+        State state = new State(sprite, texture, variants, ids, pendingFrames, scale, xhot, yhot);
+        texture = null;
+        variants = createVariantCache();
+        ids = null;
+        pendingFrames = null;
+        animation = null;
+        loaded = false;
+        return state;
+    }
+
+    // restores detached images, which are rebuilt if the settings changed while they were detached
+    public void attach(@Nullable State state) {
+        double scale = getScale();
+        int xhot = getXhot();
+        int yhot = getYhot();
+        updatePending = false;
+        pendingOnUpdates.clear();
+
+        if (state == null) {
+            return;
+        }
+
+        this.sprite = state.sprite();
+        this.texture = state.texture();
+        this.variants = state.variants();
+        this.ids = state.ids();
+        this.pendingFrames = state.pendingFrames();
+        this.scale = state.scale();
+        this.xhot = state.xhot();
+        this.yhot = state.yhot();
+        this.animation = texture.getAnimation();
+        this.loaded = true;
+        resetAnimation();
+
+        if (scale != state.scale() || xhot != state.xhot() || yhot != state.yhot()) {
+            update(scale, xhot, yhot, null);
+        }
+    }
+
+    public void setSettings(double scale, int xhot, int yhot, @Nullable Runnable onUpdate) {
+        updateImage(scale, xhot, yhot, onUpdate);
+    }
+
+    private void updateImage(double scale, int xhot, int yhot, @Nullable Runnable onUpdate) {
+        if (!loaded) {
+            return;
+        }
+
+        pendingScale = scale;
+        pendingXhot = xhot;
+        pendingYhot = yhot;
+        if (onUpdate != null) {
+            pendingOnUpdates.add(onUpdate);
+        }
+        updatePending = true;
+    }
+
+    // called once per frame, the native cursor keeps its committed settings until then
+    public void applyPendingUpdate() {
+        if (!updatePending) {
+            return;
+        }
+
+        List<Runnable> onUpdates = List.copyOf(pendingOnUpdates);
+        updatePending = false;
+        pendingOnUpdates.clear();
+        update(pendingScale, pendingXhot, pendingYhot, onUpdates.isEmpty() ? null : () -> onUpdates.forEach(Runnable::run));
+    }
+
+    private void update(double scale, int xhot, int yhot, @Nullable Runnable onCreate) {
+        // not in use yet, it is created with the new settings on first use
+        if (ids == null) {
+            releasePendingFrames();
+            this.scale = scale;
+            this.xhot = xhot;
+            this.yhot = yhot;
+
+            if (onCreate != null) {
+                onCreate.run();
+            }
+            return;
+        }
 
-        @SuppressWarnings("resource")
-        GLFWImage.Buffer glfwImageBuffer = GLFWImage.create(1);
-        glfwImageBuffer.width(scaledImage.getWidth());
-        glfwImageBuffer.height(scaledImage.getHeight());
-        glfwImageBuffer.pixels(BufferedImageUtil.getPixelsRGBA(scaledImage));
-        scaledImage.flush();
+        Variant variant = new Variant(scale, xhot, yhot);
+        long[] variantIds = variants.get(variant);
 
-        long previousId = this.id;
-        this.id = GLFW.glfwCreateCursor(glfwImageBuffer.get(), scaledXHot, scaledYHot);
+        if (variantIds != null) {
+            variantHits++;
+            this.ids = variantIds;
+        } else {
+            variantMisses++;
+            this.ids = createVariant(texture.scale(scale), scale, xhot, yhot);
+            variants.put(variant, this.ids);
+        }
 
         if (onCreate != null) {
             onCreate.run();
         }
 
-        if (previousId != 0 && this.id != previousId) {
-            GLFW.glfwDestroyCursor(previousId);
-        }
+        evictVariants();
 
         loaded = true;
         this.scale = scale;
@@ -77,6 +230,74 @@ public class Cursor {
         this.yhot = yhot;
     }
 
+    // every frame is created up front so that animating only swaps native cursors
+    private long[] createVariant(CursorImage[] scaledFrames, double scale, int xhot, int yhot) {
+        int scaledXHot = scale == 1 ? xhot : (int) Math.round(xhot * scale);
+        int scaledYHot = scale == 1 ? yhot : (int) Math.round(yhot * scale);
+        long[] variantIds = new long[scaledFrames.length];
+
+        for (int i = 0; i < scaledFrames.length; i++) {
+            CursorImage scaledImage = scaledFrames[i];
+
+            @SuppressWarnings("resource")
+            GLFWImage.Buffer glfwImageBuffer = GLFWImage.create(1);
+            glfwImageBuffer.width(scaledImage.getWidth());
+            glfwImageBuffer.height(scaledImage.getHeight());
+            glfwImageBuffer.pixels(scaledImage.getPixels());
+
+            variantIds[i] = GLFW.glfwCreateCursor(glfwImageBuffer.get(), scaledXHot, scaledYHot);
+
+            // GLFW copies the pixels
+            if (!texture.owns(scaledImage)) {
+                scaledImage.close();
+            }
+        }
+
+        return variantIds;
+    }
+
+    private static void destroyVariant(long[] variantIds) {
+        for (long variantId : variantIds) {
+            if (variantId != 0) {
+                GLFW.glfwDestroyCursor(variantId);
+            }
+        }
+    }
+
+    // least recently used first, the variant in use is never destroyed
+    private void evictVariants() {
+        Iterator<Map.Entry<Variant, long[]>> iterator = variants.entrySet().iterator();
+
+        while (variants.size() > MAX_VARIANTS && iterator.hasNext()) {
+            long[] variantIds = iterator.next().getValue();
+            if (variantIds != this.ids) {
+                iterator.remove();
+                destroyVariant(variantIds);
+            }
+        }
+    }
+
+    public boolean isAnimated() {
+        return animation != null;
+    }
+
+    // returns true if the frame changed
+    public boolean tickAnimation() {
+        if (animation == null || ++animationTicks < animation.getTime(animationPosition)) {
+            return false;
+        }
+
+        int previousFrame = animation.getFrame(animationPosition);
+        animationTicks = 0;
+        animationPosition = (animationPosition + 1) % animation.getLength();
+        return animation.getFrame(animationPosition) != previousFrame;
+    }
+
+    public void resetAnimation() {
+        animationPosition = 0;
+        animationTicks = 0;
+    }
+
     public void enable(boolean enabled) {
         if (enabled) {
             enable();
@@ -97,8 +318,17 @@ public class Cursor {
         this.enabled = false;
     }
 
+    // the native cursor of the current frame, 0 until created
     public long getId() {
-        return enabled ? id : 0;
+        if (!enabled || ids == null) {
+            return 0;
+        }
+        return ids[animation != null ? animation.getFrame(animationPosition) : 0];
+    }
+
+    // identifies the loaded texture, see CursorTexture#sourceKey
+    public long getSourceKey() {
+        return texture != null ? texture.getSourceKey() : 0;
     }
 
     public CursorType getType() {
@@ -106,7 +336,7 @@ public class Cursor {
     }
 
     public double getScale() {
-        return scale;
+        return updatePending ? pendingScale : scale;
     }
 
     public void setScale(double scale, @Nullable Runnable onUpdate) {
@@ -114,7 +344,7 @@ public class Cursor {
     }
 
     public int getXhot() {
-        return xhot;
+        return updatePending ? pendingXhot : xhot;
     }
 
     public void setXhot(int xhot, @Nullable Runnable onUpdate) {
@@ -122,7 +352,7 @@ public class Cursor {
     }
 
     public int getYhot() {
-        return yhot;
+        return updatePending ? pendingYhot : yhot;
     }
 
     public void setYhot(int yhot, @Nullable Runnable onUpdate) {
@@ -136,4 +366,59 @@ public class Cursor {
     public boolean isLoaded() {
         return loaded;
     }
+
+    // whether the cursor can be used, its native cursors are created on demand
+    public boolean isUsable() {
+        return enabled && loaded;
+    }
+
+    public int getVariantHits() {
+        return variantHits;
+    }
+
+    public int getVariantMisses() {
+        return variantMisses;
+    }
+
+    private static LinkedHashMap<Variant, long[]> createVariantCache() {
+        return new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // not private, the detached variants are a component of State
+    record Variant(double scale, int xhot, int yhot) {
+    }
+
+    /**
+     * The images of a cursor while it is detached, owned by whoever holds it until it is attached or closed.
+     */
+    public record State(
+            Identifier sprite,
+            CursorTexture texture,
+            LinkedHashMap<Variant, long[]> variants,
+            long @Nullable [] ids,
+            CursorImage @Nullable [] pendingFrames,
+            double scale,
+            int xhot,
+            int yhot
+    ) implements AutoCloseable {
+        // takes ownership of the texture and the scaled frames like loadImage, nothing is created until attached
+        public static State of(Identifier sprite, CursorTexture texture, CursorImage[] scaledFrames, double scale, int xhot, int yhot) {
+            return new State(sprite, texture, createVariantCache(), null, scaledFrames, scale, xhot, yhot);
+        }
+
+        @Override
+        public void close() {
+            for (long[] variantIds : variants.values()) {
+                destroyVariant(variantIds);
+            }
+            if (pendingFrames != null) {
+                for (CursorImage frame : pendingFrames) {
+                    if (!texture.owns(frame)) {
+                        frame.close();
+                    }
+                }
+            }
+            texture.close();
+        }
+    }
 }
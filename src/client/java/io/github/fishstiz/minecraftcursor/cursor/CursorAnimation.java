@@ -0,0 +1,68 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import io.github.fishstiz.minecraftcursor.config.CursorConfig;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The playback order and durations of the frames of an animated cursor texture.
+ */
+public class CursorAnimation {
+    private final int[] frames;
+    private final int[] times;
+
+    private CursorAnimation(int[] frames, int[] times) {
+        this.frames = frames;
+        this.times = times;
+    }
+
+    // frames that are not in the texture are skipped, null if no frame is left
+    public static @Nullable CursorAnimation of(CursorConfig.Animation animation, int frameCount, String name) {
+        int frametime = Math.max(1, animation.getFrametime());
+
+        if (animation.getFrames().isEmpty()) {
+            int[] frames = new int[frameCount];
+            int[] times = new int[frameCount];
+            for (int i = 0; i < frameCount; i++) {
+                frames[i] = i;
+                times[i] = frametime;
+            }
+            return new CursorAnimation(frames, times);
+        }
+
+        int[] frames = new int[animation.getFrames().size()];
+        int[] times = new int[frames.length];
+        int length = 0;
+        for (CursorConfig.Frame frame : animation.getFrames()) {
+            if (frame.getIndex() < 0 || frame.getIndex() >= frameCount) {
+                MinecraftCursor.LOGGER.warn("Skipping frame {} of animated cursor {}, texture has {} frames",
+                        frame.getIndex(), name, frameCount);
+                continue;
+            }
+            frames[length] = frame.getIndex();
+            times[length] = frame.getTime() != null ? Math.max(1, frame.getTime()) : frametime;
+            length++;
+        }
+
+        if (length == 0) {
+            return null;
+        }
+        return new CursorAnimation(Arrays.copyOf(frames, length), Arrays.copyOf(times, length));
+    }
+
+    public int getLength() {
+        return frames.length;
+    }
+
+    // the index of the texture frame at the position in the playback order
+    public int getFrame(int position) {
+        return frames[position];
+    }
+
+    // in client ticks
+    public int getTime(int position) {
+        return times[position];
+    }
+}
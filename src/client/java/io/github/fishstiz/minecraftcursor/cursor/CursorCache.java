@@ -0,0 +1,243 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import io.github.fishstiz.minecraftcursor.util.HashUtil;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Decoded and scaled cursor pixels stored on disk, so that a warm start does not decode or scale any texture.
+ *
+ * <p>Entries are named by a key derived from the source bytes and everything that affects the scaled pixels.
+ * An entry that fails the header or checksum validation is deleted and rebuilt by the caller.</p>
+ */
+public class CursorCache {
+    private static final int MAGIC = 0x4D434355;
+    // bump when the decoding or scaling of the pixels changes
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int FRAME_BYTES = 16;
+    private static final int MAX_FRAMES = 1024;
+    private static final String FILE_EXTENSION = ".bin";
+    // entries of themes that are not preloaded are kept as long as they were used recently
+    private static final Duration MAX_UNUSED_AGE = Duration.ofDays(30);
+    private final Path directory;
+
+    public CursorCache(Path directory) {
+        this.directory = directory;
+    }
+
+    // the scaled pixels of the texture identified by the source key, see CursorTexture#sourceKey
+    public static long key(long sourceKey, double scale) {
+        return new HashUtil.Hasher().putInt(VERSION).putLong(sourceKey).putDouble(scale).getHash();
+    }
+
+    public @Nullable Entry read(long key) {
+        Path path = getPath(key);
+
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        // read into memory instead of mapped, a mapping keeps the file locked on some platforms until it is collected
+        Entry entry = null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                ByteBuffer buffer = MemoryUtil.memAlloc((int) size);
+                try {
+                    while (buffer.hasRemaining()) {
+                        if (channel.read(buffer) < 0) {
+                            break;
+                        }
+                    }
+                    entry = buffer.hasRemaining() ? null : read(key, buffer.flip().order(ByteOrder.LITTLE_ENDIAN));
+                } finally {
+                    MemoryUtil.memFree(buffer);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            MinecraftCursor.LOGGER.debug("Failed to read cursor cache entry {}", path, e);
+        }
+
+        if (entry == null) {
+            MinecraftCursor.LOGGER.info("Rebuilding invalid cursor cache entry {}", path.getFileName());
+            delete(path);
+        } else {
+            touch(path);
+        }
+        return entry;
+    }
+
+    private static @Nullable Entry read(long key, ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION
+                || buffer.getLong(8) != key) {
+            return null;
+        }
+
+        int frameCount = buffer.getInt(16);
+        int checksum = buffer.getInt(20);
+        if (frameCount < 1 || frameCount > MAX_FRAMES || buffer.capacity() < HEADER_BYTES + (long) frameCount * FRAME_BYTES) {
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES));
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        // the frame table is validated before anything is allocated
+        long offset = HEADER_BYTES + (long) frameCount * FRAME_BYTES;
+        for (int i = 0; i < frameCount; i++) {
+            for (int j = 0; j < 4; j++) {
+                if (buffer.getInt(HEADER_BYTES + i * FRAME_BYTES + j * 4) <= 0) {
+                    return null;
+                }
+            }
+            offset += getFrameBytes(buffer, i);
+        }
+        if (offset != buffer.capacity()) {
+            return null;
+        }
+
+        CursorImage[] sourceFrames = new CursorImage[frameCount];
+        CursorImage[] scaledFrames = new CursorImage[frameCount];
+        int position = HEADER_BYTES + frameCount * FRAME_BYTES;
+        for (int i = 0; i < frameCount; i++) {
+            int table = HEADER_BYTES + i * FRAME_BYTES;
+            sourceFrames[i] = CursorImage.copyOf(buffer.getInt(table), buffer.getInt(table + 4), buffer.position(position));
+            position += sourceFrames[i].getSizeBytes();
+            scaledFrames[i] = CursorImage.copyOf(buffer.getInt(table + 8), buffer.getInt(table + 12), buffer.position(position));
+            position += scaledFrames[i].getSizeBytes();
+        }
+
+        return new Entry(sourceFrames, scaledFrames);
+    }
+
+    private static long getFrameBytes(ByteBuffer buffer, int frame) {
+        int table = HEADER_BYTES + frame * FRAME_BYTES;
+        return ((long) buffer.getInt(table) * buffer.getInt(table + 4)
+                + (long) buffer.getInt(table + 8) * buffer.getInt(table + 12)) * 4;
+    }
+
+    // written to a temporary file first so that an interrupted write never leaves a partial entry
+    public void write(long key, CursorTexture texture, CursorImage[] scaledFrames) {
+        int frameCount = texture.getFrameCount();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + frameCount * FRAME_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+
+        header.putInt(MAGIC).putInt(VERSION).putLong(key).putInt(frameCount).putInt(0);
+        for (int i = 0; i < frameCount; i++) {
+            CursorImage source = texture.getSource(i);
+            header.putInt(source.getWidth()).putInt(source.getHeight())
+                    .putInt(scaledFrames[i].getWidth()).putInt(scaledFrames[i].getHeight());
+        }
+        crc.update(header.slice(HEADER_BYTES, frameCount * FRAME_BYTES));
+        for (int i = 0; i < frameCount; i++) {
+            crc.update(texture.getSource(i).getPixels().duplicate());
+            crc.update(scaledFrames[i].getPixels().duplicate());
+        }
+        header.putInt(20, (int) crc.getValue()).rewind();
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, HashUtil.toHex(key), ".tmp");
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeFully(channel, header);
+                for (int i = 0; i < frameCount; i++) {
+                    writeFully(channel, texture.getSource(i).getPixels().duplicate());
+                    writeFully(channel, scaledFrames[i].getPixels().duplicate());
+                }
+            }
+
+            Files.move(temp, getPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.warn("Failed to write cursor cache entry {}", HashUtil.toHex(key), e);
+            if (temp != null) {
+                delete(temp);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Deletes the entries that are not in the given keys and were not used for {@link #MAX_UNUSED_AGE} before the
+     * reload started. Entries written during the reload, e.g. by a theme loaded concurrently, are never deleted and
+     * temporary files are left to the write that owns them.
+     */
+    public void retain(Set<Long> keys, Instant reloadStart) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        FileTime unusedBefore = FileTime.from(reloadStart.minus(MAX_UNUSED_AGE));
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+            for (Path path : entries) {
+                if (!keys.contains(parseKey(path.getFileName().toString()))
+                        && Files.getLastModifiedTime(path).compareTo(unusedBefore) < 0) {
+                    delete(path);
+                }
+            }
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.warn("Failed to clean up cursor cache", e);
+        }
+    }
+
+    private Path getPath(long key) {
+        return directory.resolve(HashUtil.toHex(key) + FILE_EXTENSION);
+    }
+
+    private static @Nullable Long parseKey(String name) {
+        try {
+            return Long.parseUnsignedLong(name.substring(0, name.length() - FILE_EXTENSION.length()), 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // the modification time is the last use of the entry
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.debug("Failed to touch {}", path, e);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            MinecraftCursor.LOGGER.debug("Failed to delete {}", path, e);
+        }
+    }
+
+    // the caller owns the images
+    public record Entry(CursorImage[] sourceFrames, CursorImage[] scaledFrames) {
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import io.github.fishstiz.minecraftcursor.util.BufferedImageUtil;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decoded RGBA pixels of a cursor texture, stored off-heap and freed on {@link #close()}.
+ */
+public class CursorImage implements AutoCloseable {
+    private static final AtomicLong ALLOCATED_BYTES = new AtomicLong();
+    private final int width;
+    private final int height;
+    private final boolean stbAllocated;
+    private ByteBuffer pixels;
+
+    private CursorImage(int width, int height) {
+        this(width, height, MemoryUtil.memAlloc(width * height * 4), false);
+    }
+
+    private CursorImage(int width, int height, ByteBuffer pixels, boolean stbAllocated) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        this.stbAllocated = stbAllocated;
+        ALLOCATED_BYTES.addAndGet(pixels.capacity());
+    }
+
+    // decoded by STB straight into RGBA, ImageIO is only used for images STB cannot decode
+    public static CursorImage read(InputStream stream) throws IOException {
+        return read(stream.readAllBytes());
+    }
+
+    public static CursorImage read(byte[] bytes) throws IOException {
+        ByteBuffer encoded = MemoryUtil.memAlloc(bytes.length);
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            encoded.put(bytes).flip();
+
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(encoded, width, height, channels, 4);
+
+            if (pixels != null) {
+                return new CursorImage(width.get(0), height.get(0), pixels, true);
+            }
+            MinecraftCursor.LOGGER.debug("Falling back to ImageIO, STB could not decode image: {}", STBImage.stbi_failure_reason());
+        } finally {
+            MemoryUtil.memFree(encoded);
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+
+        try {
+            return of(image);
+        } finally {
+            image.flush();
+        }
+    }
+
+    public static CursorImage of(BufferedImage image) {
+        CursorImage cursorImage = new CursorImage(image.getWidth(), image.getHeight());
+        BufferedImageUtil.putPixelsRGBA(image, cursorImage.pixels);
+        return cursorImage;
+    }
+
+    // copies width * height RGBA pixels from the position of the buffer, which is left unchanged
+    public static CursorImage copyOf(int width, int height, ByteBuffer pixels) {
+        CursorImage image = new CursorImage(width, height);
+        MemoryUtil.memCopy(MemoryUtil.memAddress(pixels), MemoryUtil.memAddress(image.pixels), image.getSizeBytes());
+        return image;
+    }
+
+    // copies the rows from y to y + height
+    public CursorImage crop(int y, int height) {
+        CursorImage croppedImage = new CursorImage(width, height);
+        long rowBytes = (long) width * 4;
+        MemoryUtil.memCopy(MemoryUtil.memAddress(pixels) + y * rowBytes, MemoryUtil.memAddress(croppedImage.pixels), height * rowBytes);
+        return croppedImage;
+    }
+
+    public CursorImage scale(double scale) {
+        return resize(getScaledWidth(scale), getScaledHeight(scale), ScaleFilter.NEAREST);
+    }
+
+    public int getScaledWidth(double scale) {
+        return Math.max(1, (int) Math.round(width * scale));
+    }
+
+    public int getScaledHeight(double scale) {
+        return Math.max(1, (int) Math.round(height * scale));
+    }
+
+    // exact pixel replication, each row is built once and copied for the other rows of the pixel
+    public CursorImage scaleInteger(int factor) {
+        CursorImage scaledImage = new CursorImage(width * factor, height * factor);
+        long source = MemoryUtil.memAddress(pixels);
+        long target = MemoryUtil.memAddress(scaledImage.pixels);
+        long scaledRowBytes = (long) width * factor * 4;
+
+        for (int y = 0; y < height; y++) {
+            long row = target;
+            for (int x = 0; x < width; x++) {
+                int pixel = MemoryUtil.memGetInt(source);
+                for (int i = 0; i < factor; i++) {
+                    MemoryUtil.memPutInt(target, pixel);
+                    target += 4;
+                }
+                source += 4;
+            }
+            for (int i = 1; i < factor; i++) {
+                MemoryUtil.memCopy(row, target, scaledRowBytes);
+                target += scaledRowBytes;
+            }
+        }
+
+        return scaledImage;
+    }
+
+    public CursorImage resize(int scaledWidth, int scaledHeight, ScaleFilter filter) {
+        CursorImage scaledImage = new CursorImage(scaledWidth, scaledHeight);
+
+        if (filter == ScaleFilter.BOX && (scaledWidth < width || scaledHeight < height)) {
+            resizeBox(scaledImage);
+        } else {
+            resizeNearest(scaledImage);
+        }
+
+        return scaledImage;
+    }
+
+    // same as Graphics2D#drawImage without rendering hints
+    private void resizeNearest(CursorImage scaledImage) {
+        int scaledWidth = scaledImage.width;
+        int scaledHeight = scaledImage.height;
+        long source = MemoryUtil.memAddress(pixels);
+        long target = MemoryUtil.memAddress(scaledImage.pixels);
+
+        for (int y = 0; y < scaledHeight; y++) {
+            int sourceY = (int) ((y + 0.5) * height / scaledHeight);
+            long sourceRow = source + (long) sourceY * width * 4;
+
+            for (int x = 0; x < scaledWidth; x++) {
+                int sourceX = (int) ((x + 0.5) * width / scaledWidth);
+                MemoryUtil.memPutInt(target, MemoryUtil.memGetInt(sourceRow + sourceX * 4L));
+                target += 4;
+            }
+        }
+    }
+
+    // averages the pixels covered by each scaled pixel, weighted by alpha so transparent pixels do not darken edges
+    private void resizeBox(CursorImage scaledImage) {
+        int scaledWidth = scaledImage.width;
+        int scaledHeight = scaledImage.height;
+        long source = MemoryUtil.memAddress(pixels);
+        long target = MemoryUtil.memAddress(scaledImage.pixels);
+
+        for (int y = 0; y < scaledHeight; y++) {
+            int startY = y * height / scaledHeight;
+            int endY = Math.max(startY + 1, (y + 1) * height / scaledHeight);
+
+            for (int x = 0; x < scaledWidth; x++) {
+                int startX = x * width / scaledWidth;
+                int endX = Math.max(startX + 1, (x + 1) * width / scaledWidth);
+                long red = 0;
+                long green = 0;
+                long blue = 0;
+                long alpha = 0;
+
+                for (int sourceY = startY; sourceY < endY; sourceY++) {
+                    long sourceRow = source + (long) sourceY * width * 4;
+                    for (int sourceX = startX; sourceX < endX; sourceX++) {
+                        long pixel = sourceRow + sourceX * 4L;
+                        int a = MemoryUtil.memGetByte(pixel + 3) & 0xFF;
+                        red += (long) (MemoryUtil.memGetByte(pixel) & 0xFF) * a;
+                        green += (long) (MemoryUtil.memGetByte(pixel + 1) & 0xFF) * a;
+                        blue += (long) (MemoryUtil.memGetByte(pixel + 2) & 0xFF) * a;
+                        alpha += a;
+                    }
+                }
+
+                int count = (endX - startX) * (endY - startY);
+                if (alpha > 0) {
+                    MemoryUtil.memPutByte(target, (byte) (red / alpha));
+                    MemoryUtil.memPutByte(target + 1, (byte) (green / alpha));
+                    MemoryUtil.memPutByte(target + 2, (byte) (blue / alpha));
+                    MemoryUtil.memPutByte(target + 3, (byte) (alpha / count));
+                } else {
+                    MemoryUtil.memPutInt(target, 0);
+                }
+                target += 4;
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public ByteBuffer getPixels() {
+        if (pixels == null) {
+            throw new IllegalStateException("Cursor image is already closed");
+        }
+        return pixels;
+    }
+
+    public int getSizeBytes() {
+        return width * height * 4;
+    }
+
+    // the off-heap memory of all cursor images that are not closed
+    public static long getAllocatedBytes() {
+        return ALLOCATED_BYTES.get();
+    }
+
+    @Override
+    public void close() {
+        if (pixels != null) {
+            ALLOCATED_BYTES.addAndGet(-pixels.capacity());
+            if (stbAllocated) {
+                STBImage.stbi_image_free(pixels);
+            } else {
+                MemoryUtil.memFree(pixels);
+            }
+            pixels = null;
+        }
+    }
+}
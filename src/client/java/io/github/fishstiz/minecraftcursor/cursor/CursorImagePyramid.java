@@ -0,0 +1,96 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.config.CursorConfig;
+
+/**
+ * The source image of a cursor and its integer scales, built once when the texture is loaded.
+ *
+ * <p>Integer scales are returned as is, other scales are derived from the closest level.
+ * Levels that would exceed {@link #MAX_LEVEL_BYTES} are not built.</p>
+ */
+public class CursorImagePyramid implements AutoCloseable {
+    public static final int MAX_LEVEL_BYTES = 512 * 1024;
+    private static final int MAX_LEVEL = (int) Math.ceil(CursorConfig.Defaults.SCALE_MAX);
+    private final CursorImage[] levels;
+
+    private CursorImagePyramid(CursorImage[] levels) {
+        this.levels = levels;
+    }
+
+    // takes ownership of the source image
+    public static CursorImagePyramid of(CursorImage source) {
+        CursorImage[] levels = new CursorImage[MAX_LEVEL];
+        levels[0] = source;
+
+        int levelBytes = 0;
+        for (int factor = 2; factor <= MAX_LEVEL; factor++) {
+            levelBytes += source.getSizeBytes() * factor * factor;
+            if (levelBytes > MAX_LEVEL_BYTES) {
+                break;
+            }
+            levels[factor - 1] = source.scaleInteger(factor);
+        }
+
+        return new CursorImagePyramid(levels);
+    }
+
+    public CursorImage getSource() {
+        return levels[0];
+    }
+
+    /**
+     * Returns the image at the given scale. Close it after use unless it is {@link #owns(CursorImage) owned}
+     * by this pyramid.
+     */
+    public CursorImage scale(double scale, ScaleFilter filter) {
+        CursorImage source = getSource();
+        int scaledWidth = source.getScaledWidth(scale);
+        int scaledHeight = source.getScaledHeight(scale);
+
+        // box filtering scales down from the next level, nearest neighbor gives the same result from any level
+        int factor = filter == ScaleFilter.BOX ? (int) Math.ceil(scale) : (int) Math.round(scale);
+        CursorImage level = getLevel(factor);
+
+        if (level.getWidth() == scaledWidth && level.getHeight() == scaledHeight) {
+            return level;
+        }
+        return level.resize(scaledWidth, scaledHeight, filter);
+    }
+
+    private CursorImage getLevel(int factor) {
+        for (int i = Math.min(Math.max(factor, 1), MAX_LEVEL) - 1; i > 0; i--) {
+            if (levels[i] != null) {
+                return levels[i];
+            }
+        }
+        return levels[0];
+    }
+
+    public boolean owns(CursorImage image) {
+        for (CursorImage level : levels) {
+            if (level == image) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getSizeBytes() {
+        int sizeBytes = 0;
+        for (CursorImage level : levels) {
+            if (level != null) {
+                sizeBytes += level.getSizeBytes();
+            }
+        }
+        return sizeBytes;
+    }
+
+    @Override
+    public void close() {
+        for (CursorImage level : levels) {
+            if (level != null) {
+                level.close();
+            }
+        }
+    }
+}
@@ -7,20 +7,29 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
 
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 public class CursorManager {
+    public static final int MAX_INACTIVE_THEMES = 2;
     private final CursorConfigService config;
     private final MinecraftClient client;
     private final LinkedHashMap<CursorType, Cursor> cursors = new LinkedHashMap<>();
     private final TreeMap<Integer, CursorType> currentCursorOverrides = new TreeMap<>();
     private Cursor currentCursor;
+    private Cursor appliedCursor;
     private long previousCursorId;
+    private boolean prewarmPending;
+    // the most recently used themes other than the active one, so that switching back to them is instant
+    private final LinkedHashMap<String, CursorTheme> inactiveThemes = new LinkedHashMap<>(4, 0.75f, true);
+    private String theme = CursorTheme.DEFAULT;
+    private Set<String> themes = Set.of(CursorTheme.DEFAULT);
 
     public CursorManager(CursorConfigService config, MinecraftClient client) {
         this.config = config;
@@ -31,9 +40,20 @@ public class CursorManager {
         }
     }
 
-    public void loadCursorImage(CursorType type, Identifier sprite, BufferedImage image, CursorConfig.Settings settings) throws IOException {
+    public void loadCursorImage(
+            CursorType type,
+            Identifier sprite,
+            CursorTexture texture,
+            CursorImage[] scaledFrames,
+            CursorConfig.Settings settings
+    ) {
         Cursor cursor = cursors.computeIfAbsent(type, Cursor::new);
-        cursor.loadImage(sprite, image, settings.getScale(), settings.getXHot(), settings.getYHot(), settings.getEnabled());
+        cursor.loadImage(sprite, texture, scaledFrames, settings.getScale(), settings.getXHot(), settings.getYHot(), settings.getEnabled());
+        prewarmPending = true;
+
+        if (!config.get().isLazyCursorCreation()) {
+            cursor.create();
+        }
 
         if (currentCursor == null) {
             setCurrentCursor(cursor.getType());
@@ -44,20 +64,215 @@ public class CursorManager {
         }
     }
 
+    /**
+     * Removes the inactive themes, the cursors of the active theme are loaded after this. The removed themes are
+     * returned so that unchanged images can be kept, the caller takes ownership of them. If the active theme changes,
+     * the images of the previous one are returned as well and those of the next one are attached if it was in memory.
+     */
+    public Map<String, CursorTheme> resetThemes(String activeTheme, Set<String> themes) {
+        this.themes = Set.copyOf(themes);
+
+        Map<String, CursorTheme> previousThemes = new HashMap<>(inactiveThemes);
+        inactiveThemes.clear();
+
+        // the images of the previous theme must not remain for types the new theme does not have
+        if (!theme.equals(activeTheme)) {
+            for (CursorType type : CursorTypeRegistry.types()) {
+                cursors.computeIfAbsent(type, Cursor::new);
+            }
+
+            CursorTheme previousTheme = new CursorTheme(theme);
+            CursorTheme nextTheme = previousThemes.remove(activeTheme);
+            for (Cursor cursor : cursors.values()) {
+                previousTheme.put(cursor.getType(), cursor.detach());
+                if (nextTheme != null) {
+                    cursor.attach(nextTheme.remove(cursor.getType()));
+                }
+            }
+            if (nextTheme != null) {
+                nextTheme.close();
+            }
+            previousThemes.put(theme, previousTheme);
+
+            theme = activeTheme;
+            prewarmPending = true;
+
+            if (currentCursor != null) {
+                setCurrentCursor(currentCursor.getType());
+            }
+        }
+        return previousThemes;
+    }
+
+    // takes ownership of the theme, the least recently used inactive theme is closed if there are too many
+    public void addTheme(CursorTheme inactiveTheme) {
+        if (inactiveTheme.getName().equals(theme)) {
+            inactiveTheme.close();
+            return;
+        }
+
+        CursorTheme previousTheme = inactiveThemes.put(inactiveTheme.getName(), inactiveTheme);
+        if (previousTheme != null && previousTheme != inactiveTheme) {
+            previousTheme.close();
+        }
+
+        Iterator<CursorTheme> iterator = inactiveThemes.values().iterator();
+        while (inactiveThemes.size() > MAX_INACTIVE_THEMES && iterator.hasNext()) {
+            iterator.next().close();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Swaps in the images of an inactive theme, returns false if the theme is not in memory.
+     * The images of the previously active theme are kept as an inactive theme.
+     */
+    public boolean setTheme(String name) {
+        if (theme.equals(name)) {
+            return true;
+        }
+
+        CursorTheme nextTheme = inactiveThemes.remove(name);
+        if (nextTheme == null) {
+            return false;
+        }
+
+        for (CursorType type : CursorTypeRegistry.types()) {
+            cursors.computeIfAbsent(type, Cursor::new);
+        }
+
+        CursorTheme previousTheme = new CursorTheme(theme);
+        for (Cursor cursor : cursors.values()) {
+            previousTheme.put(cursor.getType(), cursor.detach());
+            cursor.attach(nextTheme.remove(cursor.getType()));
+        }
+        nextTheme.close();
+
+        theme = name;
+        addTheme(previousTheme);
+        prewarmPending = true;
+
+        if (currentCursor != null) {
+            setCurrentCursor(currentCursor.getType());
+        }
+        return true;
+    }
+
+    public String getTheme() {
+        return theme;
+    }
+
+    // the themes found in the resources, not all of them are in memory
+    public Set<String> getThemes() {
+        return themes;
+    }
+
+    // keeps the texture of a resource that did not change, returns false if the cursor no longer has it
+    public boolean reuseCursorImage(CursorType type, long sourceKey, CursorConfig.Settings settings) {
+        Cursor cursor = cursors.get(type);
+
+        if (cursor == null || !cursor.isLoaded() || cursor.getSourceKey() != sourceKey) {
+            return false;
+        }
+
+        applySettings(type, settings);
+        return true;
+    }
+
+    // the images are rebuilt with the new settings on the next frame, only if they changed
+    public void applySettings(CursorType type, CursorConfig.Settings settings) {
+        Cursor cursor = cursors.get(type);
+
+        if (cursor == null) {
+            return;
+        }
+
+        cursor.enable(settings.getEnabled());
+        if (cursor.getScale() != settings.getScale() || cursor.getXhot() != settings.getXHot() || cursor.getYhot() != settings.getYHot()) {
+            cursor.setSettings(settings.getScale(), settings.getXHot(), settings.getYHot(), () -> {
+                if (cursor == getCurrentCursor()) {
+                    reloadCursor();
+                }
+            });
+        }
+    }
+
+    // the source keys of the loaded cursors of the active theme and of the inactive themes in memory, by theme
+    public Map<String, Map<CursorType, Long>> getSourceKeys() {
+        Map<String, Map<CursorType, Long>> themeSourceKeys = new HashMap<>();
+        for (CursorTheme inactiveTheme : inactiveThemes.values()) {
+            themeSourceKeys.put(inactiveTheme.getName(), inactiveTheme.getSourceKeys());
+        }
+
+        Map<CursorType, Long> sourceKeys = new HashMap<>();
+        for (Cursor cursor : cursors.values()) {
+            if (cursor.isLoaded()) {
+                sourceKeys.put(cursor.getType(), cursor.getSourceKey());
+            }
+        }
+        themeSourceKeys.put(theme, sourceKeys);
+        return themeSourceKeys;
+    }
+
     public void setCurrentCursor(CursorType type) {
         Cursor cursor = cursors.get(currentCursorOverrides.isEmpty() ? type : currentCursorOverrides.lastEntry().getValue());
 
-        if (cursor == null || (type != CursorType.DEFAULT && cursor.getId() == 0) || !cursor.getEnabled()) {
+        if (cursor == null || (type != CursorType.DEFAULT && !cursor.isUsable()) || !cursor.getEnabled()) {
             cursor = cursors.get(CursorType.DEFAULT);
         }
 
-        if (currentCursor != null && cursor.getId() == previousCursorId) {
+        // the native cursors of a type are created the first time it is selected
+        cursor.create();
+
+        if (currentCursor != null && cursor == appliedCursor && cursor.getId() == previousCursorId) {
             return;
         }
 
         currentCursor = cursor;
+        applyCursor(cursor);
+    }
+
+    // animations restart when their cursor is applied
+    private void applyCursor(Cursor cursor) {
+        if (cursor != appliedCursor) {
+            cursor.resetAnimation();
+        }
+
+        appliedCursor = cursor;
         previousCursorId = cursor.getId();
-        GLFW.glfwSetCursor(client.getWindow().getHandle(), currentCursor.getId());
+        GLFW.glfwSetCursor(client.getWindow().getHandle(), previousCursorId);
+    }
+
+    // only the applied cursor is animated, the native cursor is only set when its frame changes
+    public void tickAnimation() {
+        Cursor cursor = appliedCursor;
+
+        if (cursor != null && cursor.isAnimated() && cursor.getEnabled() && cursor.tickAnimation()) {
+            applyCursor(cursor);
+        }
+    }
+
+    // creates the native cursors of at most one unused cursor, returns false once there are none left
+    public boolean prewarmNextCursor() {
+        if (!prewarmPending) {
+            return false;
+        }
+
+        for (Cursor cursor : cursors.values()) {
+            if (cursor.isUsable() && !cursor.isCreated()) {
+                cursor.create();
+                return true;
+            }
+        }
+
+        prewarmPending = false;
+        return false;
+    }
+
+    public void applyPendingUpdates() {
+        for (Cursor cursor : cursors.values()) {
+            cursor.applyPendingUpdate();
+        }
     }
 
     public void overrideCurrentCursor(CursorType type, int index) {
@@ -77,11 +292,9 @@ public class CursorManager {
     }
 
     public void reloadCursor() {
-        long id = currentCursorOverrides.isEmpty() ?
-                currentCursor.getId() :
-                getCursor(currentCursorOverrides.lastEntry().getValue()).getId();
-
-        GLFW.glfwSetCursor(client.getWindow().getHandle(), id);
+        Cursor cursor = getCurrentCursor();
+        cursor.create();
+        applyCursor(cursor);
     }
 
     public Cursor getCurrentCursor() {
@@ -0,0 +1,120 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursor;
+import io.github.fishstiz.minecraftcursor.config.CursorConfig;
+import io.github.fishstiz.minecraftcursor.util.HashUtil;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The frames of a cursor texture. Animated textures are strips of square frames stacked vertically.
+ */
+public class CursorTexture implements AutoCloseable {
+    private final CursorImagePyramid[] frames;
+    private final @Nullable CursorAnimation animation;
+    private final ScaleFilter scaleFilter;
+    private final long sourceKey;
+
+    private CursorTexture(CursorImagePyramid[] frames, @Nullable CursorAnimation animation, ScaleFilter scaleFilter, long sourceKey) {
+        this.frames = frames;
+        this.animation = animation;
+        this.scaleFilter = scaleFilter;
+        this.sourceKey = sourceKey;
+    }
+
+    // identifies the texture that the resource bytes are loaded into, independent of the cursor settings
+    public static long sourceKey(byte[] source, @Nullable CursorConfig.Animation animation, ScaleFilter scaleFilter) {
+        HashUtil.Hasher hasher = new HashUtil.Hasher()
+                .putBytes(source)
+                .putInt(scaleFilter.ordinal())
+                .putBoolean(animation != null);
+
+        // the frames a texture is split into depend on its animation
+        if (animation != null) {
+            hasher.putInt(animation.getFrametime()).putInt(animation.getFrames().size());
+            for (CursorConfig.Frame frame : animation.getFrames()) {
+                hasher.putInt(frame.getIndex()).putInt(frame.getTime() != null ? frame.getTime() : -1);
+            }
+        }
+
+        return hasher.getHash();
+    }
+
+    // takes ownership of the image
+    public static CursorTexture of(CursorImage image, @Nullable CursorConfig.Animation animation, ScaleFilter scaleFilter, String name, long sourceKey) {
+        int frameSize = image.getWidth();
+        int frameCount = image.getHeight() / frameSize;
+
+        if (animation == null || frameCount < 2 || image.getHeight() % frameSize != 0) {
+            if (animation != null) {
+                MinecraftCursor.LOGGER.warn("Animated cursor {} must be a vertical strip of at least 2 square frames", name);
+            }
+            return new CursorTexture(new CursorImagePyramid[]{CursorImagePyramid.of(image)}, null, scaleFilter, sourceKey);
+        }
+
+        // only the first frame is kept if none of the animation frames exist
+        CursorAnimation cursorAnimation = CursorAnimation.of(animation, frameCount, name);
+        CursorImagePyramid[] frames = new CursorImagePyramid[cursorAnimation != null ? frameCount : 1];
+        try (image) {
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = CursorImagePyramid.of(image.crop(i * frameSize, frameSize));
+            }
+        }
+
+        return new CursorTexture(frames, cursorAnimation, scaleFilter, sourceKey);
+    }
+
+    // takes ownership of the frames, which were split from a texture by of()
+    public static CursorTexture ofFrames(CursorImage[] frames, @Nullable CursorConfig.Animation animation, ScaleFilter scaleFilter, String name, long sourceKey) {
+        CursorImagePyramid[] pyramids = new CursorImagePyramid[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            pyramids[i] = CursorImagePyramid.of(frames[i]);
+        }
+
+        // a texture is only split into frames if it is animated
+        CursorAnimation cursorAnimation = animation != null && frames.length > 1
+                ? CursorAnimation.of(animation, frames.length, name)
+                : null;
+        return new CursorTexture(pyramids, cursorAnimation, scaleFilter, sourceKey);
+    }
+
+    // close the scaled frames after use unless they are owned by this texture
+    public CursorImage[] scale(double scale) {
+        CursorImage[] scaledFrames = new CursorImage[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            scaledFrames[i] = frames[i].scale(scale, scaleFilter);
+        }
+        return scaledFrames;
+    }
+
+    public boolean owns(CursorImage image) {
+        for (CursorImagePyramid frame : frames) {
+            if (frame.owns(image)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public CursorImage getSource(int frame) {
+        return frames[frame].getSource();
+    }
+
+    public long getSourceKey() {
+        return sourceKey;
+    }
+
+    public @Nullable CursorAnimation getAnimation() {
+        return animation;
+    }
+
+    @Override
+    public void close() {
+        for (CursorImagePyramid frame : frames) {
+            frame.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.api.CursorType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The detached cursor images of a theme that is not active.
+ *
+ * <p>The default theme is the textures in {@code textures/cursors}, other themes are the textures in
+ * {@code textures/cursors/themes/<name>}.</p>
+ */
+public class CursorTheme implements AutoCloseable {
+    public static final String DEFAULT = "";
+    private final String name;
+    private final Map<CursorType, Cursor.State> cursors = new HashMap<>();
+
+    public CursorTheme(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // takes ownership of the state
+    public void put(CursorType type, @Nullable Cursor.State state) {
+        if (state == null) {
+            return;
+        }
+
+        Cursor.State previousState = cursors.put(type, state);
+        if (previousState != null) {
+            previousState.close();
+        }
+    }
+
+    // the caller takes ownership of the state
+    public @Nullable Cursor.State remove(CursorType type) {
+        return cursors.remove(type);
+    }
+
+    // the caller takes ownership of the state, null if it does not have the texture of the source key
+    public @Nullable Cursor.State remove(CursorType type, long sourceKey) {
+        Cursor.State state = cursors.get(type);
+        return state != null && state.texture().getSourceKey() == sourceKey ? cursors.remove(type) : null;
+    }
+
+    // see CursorTexture#sourceKey
+    public Map<CursorType, Long> getSourceKeys() {
+        Map<CursorType, Long> sourceKeys = new HashMap<>();
+        for (Map.Entry<CursorType, Cursor.State> entry : cursors.entrySet()) {
+            sourceKeys.put(entry.getKey(), entry.getValue().texture().getSourceKey());
+        }
+        return sourceKeys;
+    }
+
+    @Override
+    public void close() {
+        for (Cursor.State state : cursors.values()) {
+            state.close();
+        }
+        cursors.clear();
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+public enum ScaleFilter {
+    // sharp pixels, same as the scaling of previous versions
+    NEAREST,
+    // averages the covered pixels when scaling down, smoother at fractional scales
+    BOX
+}
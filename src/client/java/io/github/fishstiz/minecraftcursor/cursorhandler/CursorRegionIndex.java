@@ -0,0 +1,94 @@
+package io.github.fishstiz.minecraftcursor.cursorhandler;
+
+import io.github.fishstiz.minecraftcursor.api.CursorRegionHandler;
+import io.github.fishstiz.minecraftcursor.api.CursorRegions;
+import io.github.fishstiz.minecraftcursor.api.CursorType;
+import net.minecraft.client.gui.Element;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+public class CursorRegionIndex<T extends Element> implements CursorRegions<T> {
+    private final CursorRegionHandler<T> handler;
+    private final HotZoneMap.Layout layout = new HotZoneMap.Layout();
+    private final List<Region<T>> regions = new ArrayList<>();
+    private @Nullable HotZoneMap.Builder builder;
+
+    public CursorRegionIndex(CursorRegionHandler<T> handler) {
+        this.handler = handler;
+    }
+
+    public CursorType getCursorType(T element, double mouseX, double mouseY) {
+        long layoutKey = handler.getLayoutKey(element);
+        HotZoneMap zones = layout.get(element, layoutKey);
+
+        if (zones == null) {
+            zones = layout.set(element, layoutKey, build(element));
+        }
+
+        int zone = zones.getZone(mouseX, mouseY);
+        if (zone == HotZoneMap.NO_ZONE) {
+            return CursorType.DEFAULT;
+        }
+
+        CursorType cursorType = regions.get(zone).getCursorType(element, mouseX, mouseY);
+        return cursorType != null ? cursorType : CursorType.DEFAULT;
+    }
+
+    private HotZoneMap build(T element) {
+        regions.clear();
+        builder = HotZoneMap.builder();
+
+        try {
+            handler.buildRegions(element, this);
+            return builder.build();
+        } finally {
+            builder = null;
+        }
+    }
+
+    @Override
+    public CursorRegions<T> rect(int x, int y, int width, int height, CellCursorTypeFunction<T> cellToCursorType) {
+        return add(new Region<>(x, y, 1, width, height, null, cellToCursorType), x, y, width, height);
+    }
+
+    @Override
+    public CursorRegions<T> grid(int x, int y, int columns, int rows, int cellWidth, int cellHeight,
+                                 @Nullable ToIntFunction<T> scrollOffset, CellCursorTypeFunction<T> cellToCursorType) {
+        Region<T> region = new Region<>(x, y, columns, cellWidth, cellHeight, scrollOffset, cellToCursorType);
+        return add(region, x, y, columns * cellWidth, rows * cellHeight);
+    }
+
+    private CursorRegions<T> add(Region<T> region, int x, int y, int width, int height) {
+        if (builder == null) {
+            throw new IllegalStateException("Regions can only be added while they are being built");
+        }
+
+        builder.addZone(regions.size(), x, y, width, height);
+        regions.add(region);
+        return this;
+    }
+
+    private record Region<T extends Element>(
+            int x,
+            int y,
+            int columns,
+            int cellWidth,
+            int cellHeight,
+            @Nullable ToIntFunction<T> scrollOffset,
+            CellCursorTypeFunction<T> cellToCursorType
+    ) {
+        CursorType getCursorType(T element, double mouseX, double mouseY) {
+            int column = ((int) Math.floor(mouseX) - x) / cellWidth;
+            int row = ((int) Math.floor(mouseY) - y) / cellHeight;
+            int index = row * columns + column;
+
+            if (scrollOffset != null) {
+                index += scrollOffset.applyAsInt(element);
+            }
+            return cellToCursorType.getCursorType(element, index);
+        }
+    }
+}
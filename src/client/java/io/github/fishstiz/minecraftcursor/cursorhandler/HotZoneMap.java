@@ -0,0 +1,145 @@
+package io.github.fishstiz.minecraftcursor.cursorhandler;
+
+import net.minecraft.client.gui.Element;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A map of the static cursor regions of a screen rasterized at GUI pixel resolution,
+ * so that finding the hovered zone is a single array lookup.
+ *
+ * <p>Each pixel stores the index of the zone that covers it. Handlers map the zone index to a cursor type
+ * and can still check dynamic state procedurally (e.g. whether the hovered button is enabled).</p>
+ */
+public class HotZoneMap {
+    public static final int NO_ZONE = -1;
+    public static final int MAX_ZONES = 255;
+    private static int initEpoch;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final byte[] zones;
+
+    private HotZoneMap(int x, int y, int width, int height, byte[] zones) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.zones = zones;
+    }
+
+    public int getZone(double mouseX, double mouseY) {
+        int localX = (int) Math.floor(mouseX) - x;
+        int localY = (int) Math.floor(mouseY) - y;
+
+        if (localX < 0 || localY < 0 || localX >= width || localY >= height) {
+            return NO_ZONE;
+        }
+        return (zones[localY * width + localX] & 0xFF) - 1;
+    }
+
+    // called on screen init, which includes resizing
+    public static void invalidateAll() {
+        initEpoch++;
+    }
+
+    // the full origin and a mixed-in layout variant (e.g. the number of tabs), called every frame so it does not allocate
+    public static long layoutKey(int x, int y, int variant) {
+        return (((long) x << 32) | (y & 0xFFFFFFFFL)) ^ (variant * 0x9E3779B97F4A7C15L);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<int[]> rects = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rectangular zone. Zones added first take precedence where zones overlap.
+         */
+        public Builder addZone(int zone, int x, int y, int width, int height) {
+            if (zone < 0 || zone >= MAX_ZONES) {
+                throw new IllegalArgumentException("Zone must be between 0 and " + (MAX_ZONES - 1) + ": " + zone);
+            }
+            if (width > 0 && height > 0) {
+                rects.add(new int[]{zone, x, y, width, height});
+            }
+            return this;
+        }
+
+        public HotZoneMap build() {
+            if (rects.isEmpty()) {
+                return new HotZoneMap(0, 0, 0, 0, new byte[0]);
+            }
+
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxY = Integer.MIN_VALUE;
+            for (int[] rect : rects) {
+                minX = Math.min(minX, rect[1]);
+                minY = Math.min(minY, rect[2]);
+                maxX = Math.max(maxX, rect[1] + rect[3]);
+                maxY = Math.max(maxY, rect[2] + rect[4]);
+            }
+
+            int width = maxX - minX;
+            int height = maxY - minY;
+            byte[] zones = new byte[width * height];
+
+            // rasterized in reverse so that the first zone added is written last
+            for (int i = rects.size() - 1; i >= 0; i--) {
+                int[] rect = rects.get(i);
+                byte value = (byte) (rect[0] + 1);
+                for (int row = rect[2] - minY; row < rect[2] - minY + rect[4]; row++) {
+                    int offset = row * width + rect[1] - minX;
+                    Arrays.fill(zones, offset, offset + rect[3], value);
+                }
+            }
+
+            return new HotZoneMap(minX, minY, width, height, zones);
+        }
+    }
+
+    /**
+     * Holds the {@link HotZoneMap} of an element until the screen is re-initialized or resized,
+     * its layout key changes, or it is invalidated by its handler.
+     */
+    public static class Layout {
+        private @Nullable HotZoneMap map;
+        private @Nullable Element element;
+        private long layoutKey;
+        private int epoch;
+
+        public @Nullable HotZoneMap get(Element element, long layoutKey) {
+            if (map != null
+                    && this.element == element
+                    && this.layoutKey == layoutKey
+                    && this.epoch == initEpoch) {
+                return map;
+            }
+            return null;
+        }
+
+        public HotZoneMap set(Element element, long layoutKey, HotZoneMap map) {
+            this.element = element;
+            this.layoutKey = layoutKey;
+            this.epoch = initEpoch;
+            this.map = map;
+            return map;
+        }
+
+        public void invalidate() {
+            map = null;
+            element = null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.github.fishstiz.minecraftcursor.cursorhandler.ingame;
 import io.github.fishstiz.minecraftcursor.MinecraftCursor;
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
+import io.github.fishstiz.minecraftcursor.cursorhandler.HotZoneMap;
 import io.github.fishstiz.minecraftcursor.mixin.client.access.CreativeInventoryScreenAccessor;
 import io.github.fishstiz.minecraftcursor.util.CursorTypeUtil;
 import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
@@ -10,12 +11,15 @@ import net.minecraft.item.ItemGroup;
 import net.minecraft.item.ItemGroups;
 import net.minecraft.screen.slot.Slot;
 
+import java.util.List;
+
 public class CreativeInventoryScreenCursorHandler extends HandledScreenCursorHandler<CreativeInventoryScreen.CreativeScreenHandler, CreativeInventoryScreen> {
     // Derived from CreativeInventoryScreen#renderTabTooltipIfHovered
     public static final int TAB_WIDTH = 21;
     public static final int TAB_HEIGHT = 27;
     public static final int TAB_OFFSET_X = 3;
     public static final int TAB_OFFSET_Y = 3;
+    private final HotZoneMap.Layout tabZones = new HotZoneMap.Layout();
 
     @Override
     public CursorType getCursorType(CreativeInventoryScreen creativeInventoryScreen, double mouseX, double mouseY) {
@@ -25,28 +29,17 @@ public class CreativeInventoryScreenCursorHandler extends HandledScreenCursorHan
         }
 
         CreativeInventoryScreenAccessor accessor = (CreativeInventoryScreenAccessor) creativeInventoryScreen;
-        CursorType cursorType = getCursorTypeTabs(accessor, mouseX, mouseY);
+        CursorType cursorType = getCursorTypeTabs(creativeInventoryScreen, accessor, mouseX, mouseY);
         cursorType = cursorType != CursorType.DEFAULT ? cursorType : getCursorTypeDelete(accessor);
         return cursorType;
     }
 
-    private CursorType getCursorTypeTabs(CreativeInventoryScreenAccessor creativeInventoryScreen, double mouseX, double mouseY) {
+    private CursorType getCursorTypeTabs(CreativeInventoryScreen screen, CreativeInventoryScreenAccessor creativeInventoryScreen, double mouseX, double mouseY) {
         if (!MinecraftCursorClient.CONFIG.get().isCreativeTabsEnabled()) return CursorType.DEFAULT;
         try {
-            boolean isHovered = false;
-            for (ItemGroup itemGroup : ItemGroups.getGroupsToDisplay()) {
-                if (creativeInventoryScreen.invokeIsPointWithinBounds(
-                        creativeInventoryScreen.invokeGetTabX(itemGroup) + TAB_OFFSET_X,
-                        creativeInventoryScreen.invokeGetTabY(itemGroup) + TAB_OFFSET_Y,
-                        TAB_WIDTH,
-                        TAB_HEIGHT,
-                        mouseX,
-                        mouseY)
-                        && itemGroup != creativeInventoryScreen.getSelectedTab()) {
-                    isHovered = true;
-                    break;
-                }
-            }
+            List<ItemGroup> itemGroups = ItemGroups.getGroupsToDisplay();
+            int tab = getTabZones(screen, creativeInventoryScreen, itemGroups).getZone(mouseX, mouseY);
+            boolean isHovered = tab != HotZoneMap.NO_ZONE && itemGroups.get(tab) != creativeInventoryScreen.getSelectedTab();
             return isHovered ? CursorType.POINTER : CursorType.DEFAULT;
         } catch (Throwable e) {
             MinecraftCursor.LOGGER.warn("Cannot get cursor type for CreativeInventoryScreen");
@@ -54,6 +47,29 @@ public class CreativeInventoryScreenCursorHandler extends HandledScreenCursorHan
         return CursorType.DEFAULT;
     }
 
+    private HotZoneMap getTabZones(CreativeInventoryScreen screen, CreativeInventoryScreenAccessor creativeInventoryScreen, List<ItemGroup> itemGroups) {
+        int x = creativeInventoryScreen.getX();
+        int y = creativeInventoryScreen.getY();
+        long layoutKey = HotZoneMap.layoutKey(x, y, itemGroups.size());
+
+        HotZoneMap zones = tabZones.get(screen, layoutKey);
+        if (zones != null) {
+            return zones;
+        }
+
+        // matches HandledScreen#isPointWithinBounds, which extends the bounds by a pixel on each side
+        HotZoneMap.Builder builder = HotZoneMap.builder();
+        for (int i = 0; i < itemGroups.size() && i < HotZoneMap.MAX_ZONES; i++) {
+            ItemGroup itemGroup = itemGroups.get(i);
+            builder.addZone(i,
+                    x + creativeInventoryScreen.invokeGetTabX(itemGroup) + TAB_OFFSET_X - 1,
+                    y + creativeInventoryScreen.invokeGetTabY(itemGroup) + TAB_OFFSET_Y - 1,
+                    TAB_WIDTH + 2,
+                    TAB_HEIGHT + 2);
+        }
+        return tabZones.set(screen, layoutKey, builder.build());
+    }
+
     private CursorType getCursorTypeDelete(CreativeInventoryScreenAccessor creativeInventoryScreen) {
         Slot focusedSlot = creativeInventoryScreen.getFocusedSlot();
         if (CursorTypeUtil.canShift()
@@ -1,16 +1,16 @@
 package io.github.fishstiz.minecraftcursor.cursorhandler.ingame;
 
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
+import io.github.fishstiz.minecraftcursor.api.CursorRegionHandler;
+import io.github.fishstiz.minecraftcursor.api.CursorRegions;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
+import io.github.fishstiz.minecraftcursor.cursorhandler.HotZoneMap;
 import io.github.fishstiz.minecraftcursor.mixin.client.access.LoomScreenAccessor;
-import net.minecraft.block.entity.BannerPattern;
 import net.minecraft.client.gui.screen.ingame.LoomScreen;
-import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.screen.LoomScreenHandler;
 
-import java.util.List;
-
-public class LoomScreenCursorHandler extends HandledScreenCursorHandler<LoomScreenHandler, LoomScreen> {
+public class LoomScreenCursorHandler extends HandledScreenCursorHandler<LoomScreenHandler, LoomScreen>
+        implements CursorRegionHandler<LoomScreen> {
     // Derived from LoomScreen#drawBackground
     public static final int PATTERNS_OFFSET_X = 60;
     public static final int PATTERNS_OFFSET_Y = 13;
@@ -18,39 +18,34 @@ public class LoomScreenCursorHandler extends HandledScreenCursorHandler<LoomScre
     public static final int PATTERN_SIZE = 14;
 
     @Override
-    public CursorType getCursorType(LoomScreen loomScreen, double mouseX, double mouseY) {
-        CursorType cursorType = super.getCursorType(loomScreen, mouseX, mouseY);
-        if (cursorType != CursorType.DEFAULT) return cursorType;
+    public void buildRegions(LoomScreen loomScreen, CursorRegions<LoomScreen> regions) {
+        LoomScreenAccessor accessor = (LoomScreenAccessor) loomScreen;
+
+        regions.grid(
+                accessor.getX() + PATTERNS_OFFSET_X,
+                accessor.getY() + PATTERNS_OFFSET_Y,
+                GRID_SIZE,
+                GRID_SIZE,
+                PATTERN_SIZE,
+                PATTERN_SIZE,
+                screen -> ((LoomScreenAccessor) screen).getVisibleTopRow() * GRID_SIZE,
+                LoomScreenCursorHandler::getPatternCursorType
+        );
+    }
+
+    @Override
+    public long getLayoutKey(LoomScreen loomScreen) {
+        LoomScreenAccessor accessor = (LoomScreenAccessor) loomScreen;
+        return HotZoneMap.layoutKey(accessor.getX(), accessor.getY(), 0);
+    }
 
+    private static CursorType getPatternCursorType(LoomScreen loomScreen, int patternSlot) {
         if (!MinecraftCursorClient.CONFIG.get().isLoomPatternsEnabled()) return CursorType.DEFAULT;
 
-        LoomScreenAccessor loomScreenAccessor = (LoomScreenAccessor) loomScreen;
-
-        if (!loomScreenAccessor.getCanApplyDyePattern()) return CursorType.DEFAULT;
-
-        LoomScreenHandler handler = loomScreenAccessor.getHandler();
-        List<RegistryEntry<BannerPattern>> patterns = handler.getBannerPatterns();
-        int patternsX = loomScreenAccessor.getX() + PATTERNS_OFFSET_X;
-        int patternsY = loomScreenAccessor.getY() + PATTERNS_OFFSET_Y;
-
-        exitLoop:
-        for (int row = 0; row < GRID_SIZE; row++) {
-            for (int col = 0; col < GRID_SIZE; col++) {
-                int patternIndex = row + loomScreenAccessor.getVisibleTopRow();
-                int patternSlot = patternIndex * GRID_SIZE + col;
-                if (patternSlot >= patterns.size()) {
-                    break exitLoop;
-                }
-                int patternX = patternsX + col * PATTERN_SIZE;
-                int patternY = patternsY + row * PATTERN_SIZE;
-                if (mouseX >= patternX
-                        && mouseY >= patternY
-                        && mouseX < patternX + PATTERN_SIZE
-                        && mouseY < patternY + PATTERN_SIZE) {
-                    return CursorType.POINTER;
-                }
-            }
-        }
-        return CursorType.DEFAULT;
+        LoomScreenAccessor accessor = (LoomScreenAccessor) loomScreen;
+        if (!accessor.getCanApplyDyePattern()) return CursorType.DEFAULT;
+
+        LoomScreenHandler handler = accessor.getHandler();
+        return patternSlot < handler.getBannerPatterns().size() ? CursorType.POINTER : CursorType.DEFAULT;
     }
 }
@@ -1,12 +1,16 @@
 package io.github.fishstiz.minecraftcursor.cursorhandler.ingame;
 
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
+import io.github.fishstiz.minecraftcursor.api.CursorRegionHandler;
+import io.github.fishstiz.minecraftcursor.api.CursorRegions;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
+import io.github.fishstiz.minecraftcursor.cursorhandler.HotZoneMap;
 import io.github.fishstiz.minecraftcursor.mixin.client.access.StonecutterScreenAccessor;
 import net.minecraft.client.gui.screen.ingame.StonecutterScreen;
 import net.minecraft.screen.StonecutterScreenHandler;
 
-public class StonecutterScreenCursorHandler extends HandledScreenCursorHandler<StonecutterScreenHandler, StonecutterScreen> {
+public class StonecutterScreenCursorHandler extends HandledScreenCursorHandler<StonecutterScreenHandler, StonecutterScreen>
+        implements CursorRegionHandler<StonecutterScreen> {
     // Derived from StonecutterScreen#drawBackground
     public static final int RECIPES_OFFSET_X = 52;
     public static final int RECIPES_OFFSET_Y = 14;
@@ -18,32 +22,33 @@ public class StonecutterScreenCursorHandler extends HandledScreenCursorHandler<S
     public static final int RECIPE_SLOT_HEIGHT_OFFSET = 2;
 
     @Override
-    public CursorType getCursorType(StonecutterScreen stonecutterScreen, double mouseX, double mouseY) {
-        CursorType cursorType = super.getCursorType(stonecutterScreen, mouseX, mouseY);
-        if (cursorType != CursorType.DEFAULT) return cursorType;
+    public void buildRegions(StonecutterScreen stonecutterScreen, CursorRegions<StonecutterScreen> regions) {
+        StonecutterScreenAccessor accessor = (StonecutterScreenAccessor) stonecutterScreen;
 
-        if (!MinecraftCursorClient.CONFIG.get().isStonecutterRecipesEnabled()) return CursorType.DEFAULT;
+        regions.grid(
+                accessor.getX() + RECIPES_OFFSET_X,
+                accessor.getY() + RECIPES_OFFSET_Y + RECIPE_SLOT_HEIGHT_OFFSET,
+                GRID_SIZE,
+                RECIPES_SCROLLOFFSET / GRID_SIZE,
+                RECIPE_SLOT_WIDTH,
+                RECIPE_SLOT_HEIGHT,
+                screen -> ((StonecutterScreenAccessor) screen).getScrollOffset(),
+                StonecutterScreenCursorHandler::getRecipeCursorType
+        );
+    }
 
+    @Override
+    public long getLayoutKey(StonecutterScreen stonecutterScreen) {
         StonecutterScreenAccessor accessor = (StonecutterScreenAccessor) stonecutterScreen;
-        StonecutterScreenHandler handler = accessor.getHandler();
-        int recipesX = accessor.getX() + RECIPES_OFFSET_X;
-        int recipesY = accessor.getY() + RECIPES_OFFSET_Y;
-        int scrollOffset = accessor.getScrollOffset();
-
-        for (int i = scrollOffset; i < scrollOffset + RECIPES_SCROLLOFFSET && i < handler.getAvailableRecipeCount(); i++) {
-            int recipeIndex = i - scrollOffset;
-            int row = recipeIndex / GRID_SIZE;
-            int slotX = recipesX + recipeIndex % GRID_SIZE * RECIPE_SLOT_WIDTH;
-            int slotY = recipesY + row * RECIPE_SLOT_HEIGHT + RECIPE_SLOT_HEIGHT_OFFSET;
+        return HotZoneMap.layoutKey(accessor.getX(), accessor.getY(), 0);
+    }
 
-            boolean isRecipeHovered = mouseX >= slotX &&
-                    mouseY >= slotY &&
-                    mouseX < slotX + RECIPE_SLOT_WIDTH &&
-                    mouseY < slotY + RECIPE_SLOT_HEIGHT;
+    private static CursorType getRecipeCursorType(StonecutterScreen stonecutterScreen, int i) {
+        if (!MinecraftCursorClient.CONFIG.get().isStonecutterRecipesEnabled()) return CursorType.DEFAULT;
 
-            if (i != handler.getSelectedRecipe() && isRecipeHovered) {
-                return CursorType.POINTER;
-            }
+        StonecutterScreenHandler handler = ((StonecutterScreenAccessor) stonecutterScreen).getHandler();
+        if (i < handler.getAvailableRecipeCount() && i != handler.getSelectedRecipe()) {
+            return CursorType.POINTER;
         }
         return CursorType.DEFAULT;
     }
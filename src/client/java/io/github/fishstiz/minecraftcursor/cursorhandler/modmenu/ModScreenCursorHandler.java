@@ -5,6 +5,7 @@ import com.terraformersmc.modmenu.gui.widget.ModListWidget;
 import com.terraformersmc.modmenu.gui.widget.entries.ModListEntry;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.api.CursorHandler;
+import io.github.fishstiz.minecraftcursor.util.EntryListWidgetUtil;
 import net.minecraft.client.gui.Element;
 
 import java.util.Optional;
@@ -26,12 +27,13 @@ public class ModScreenCursorHandler implements CursorHandler<ModsScreen> {
             return CursorType.DEFAULT;
         }
 
-        for (ModListEntry entry : modListWidget.children()) {
-            if (entry.isMouseOver(mouseX, mouseY) && modsScreen.getModHasConfigScreen(entry.mod.getId())) {
-                if (mouseX >= modListWidget.getX() && mouseX <= modListWidget.getX() + ICON_SIZE + ENTRY_OFFSET_X) {
-                    return CursorType.POINTER;
-                }
-            }
+        if (mouseX < modListWidget.getX() || mouseX > modListWidget.getX() + ICON_SIZE + ENTRY_OFFSET_X) {
+            return CursorType.DEFAULT;
+        }
+
+        ModListEntry entry = EntryListWidgetUtil.getHoveredEntry(modListWidget, mouseX, mouseY);
+        if (entry != null && modsScreen.getModHasConfigScreen(entry.mod.getId())) {
+            return CursorType.POINTER;
         }
 
         return CursorType.DEFAULT;
@@ -3,6 +3,7 @@ package io.github.fishstiz.minecraftcursor.cursorhandler.multiplayer;
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.api.CursorHandler;
+import io.github.fishstiz.minecraftcursor.util.EntryListWidgetUtil;
 import net.minecraft.client.gui.screen.multiplayer.MultiplayerServerListWidget;
 
 public class MultiplayerServerListWidgetCursorHandler implements CursorHandler<MultiplayerServerListWidget> {
@@ -11,12 +12,10 @@ public class MultiplayerServerListWidgetCursorHandler implements CursorHandler<M
     @Override
     public CursorType getCursorType(MultiplayerServerListWidget serverList, double mouseX, double mouseY) {
         if (!MinecraftCursorClient.CONFIG.get().isServerIconEnabled()) return CursorType.DEFAULT;
+        if (mouseX < serverList.getRowLeft() || mouseX > serverList.getRowLeft() + ICON_SIZE) return CursorType.DEFAULT;
 
-        MultiplayerServerListWidget.ServerEntry serverEntry =
-                (MultiplayerServerListWidget.ServerEntry) serverList.hoveredElement(mouseX, mouseY)
-                        .filter(entry -> entry instanceof MultiplayerServerListWidget.ServerEntry)
-                        .orElse(null);
-        if (serverEntry != null && mouseX >= serverList.getRowLeft() && mouseX <= serverList.getRowLeft() + ICON_SIZE) {
+        MultiplayerServerListWidget.Entry entry = EntryListWidgetUtil.getHoveredEntry(serverList, mouseX, mouseY);
+        if (entry instanceof MultiplayerServerListWidget.ServerEntry) {
             return CursorType.POINTER;
         }
         return CursorType.DEFAULT;
@@ -3,6 +3,7 @@ package io.github.fishstiz.minecraftcursor.cursorhandler.world;
 import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
 import io.github.fishstiz.minecraftcursor.api.CursorType;
 import io.github.fishstiz.minecraftcursor.api.CursorHandler;
+import io.github.fishstiz.minecraftcursor.util.EntryListWidgetUtil;
 import net.minecraft.client.gui.screen.world.WorldListWidget;
 
 public class WorldListWidgetCursorHandler implements CursorHandler<WorldListWidget> {
@@ -11,10 +12,11 @@ public class WorldListWidgetCursorHandler implements CursorHandler<WorldListWidg
         if (!MinecraftCursorClient.CONFIG.get().isWorldIconEnabled()) return CursorType.DEFAULT;
 
         int x = (int) Math.floor((double) worldListWidget.getWidth() / 2 - (double) worldListWidget.getRowWidth() / 2);
-        for (WorldListWidget.Entry entry : worldListWidget.children()) {
-            if (entry.isMouseOver(mouseX, mouseY) && mouseX >= x && mouseX <= x + 32 && ((WorldListWidget.WorldEntry) entry).isLevelSelectable()) {
-                return CursorType.POINTER;
-            }
+        if (mouseX < x || mouseX > x + 32) return CursorType.DEFAULT;
+
+        WorldListWidget.Entry entry = EntryListWidgetUtil.getHoveredEntry(worldListWidget, mouseX, mouseY);
+        if (entry instanceof WorldListWidget.WorldEntry worldEntry && worldEntry.isLevelSelectable()) {
+            return CursorType.POINTER;
         }
         return CursorType.DEFAULT;
     }
@@ -0,0 +1,21 @@
+package io.github.fishstiz.minecraftcursor.mixin.client;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
+import net.minecraft.client.MinecraftClient;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(MinecraftClient.class)
+public abstract class MinecraftClientMixin {
+    @Inject(method = "render", at = @At("HEAD"))
+    private void beforeRender(boolean tick, CallbackInfo ci) {
+        MinecraftCursorClient.onFrameStart();
+    }
+
+    @Inject(method = "render", at = @At("TAIL"))
+    private void afterRender(boolean tick, CallbackInfo ci) {
+        MinecraftCursorClient.onFrameEnd();
+    }
+}
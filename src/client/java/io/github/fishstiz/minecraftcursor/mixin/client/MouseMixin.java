@@ -0,0 +1,21 @@
+package io.github.fishstiz.minecraftcursor.mixin.client;
+
+import io.github.fishstiz.minecraftcursor.MinecraftCursorClient;
+import net.minecraft.client.Mouse;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Mouse.class)
+public abstract class MouseMixin {
+    @Inject(method = "onCursorPos", at = @At("HEAD"))
+    private void onCursorPos(long window, double x, double y, CallbackInfo ci) {
+        MinecraftCursorClient.onMouseInput();
+    }
+
+    @Inject(method = "onMouseButton", at = @At("HEAD"))
+    private void onMouseButton(long window, int button, int action, int mods, CallbackInfo ci) {
+        MinecraftCursorClient.onMouseInput();
+    }
+}
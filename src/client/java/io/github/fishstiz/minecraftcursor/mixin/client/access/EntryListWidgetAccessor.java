@@ -0,0 +1,11 @@
+package io.github.fishstiz.minecraftcursor.mixin.client.access;
+
+import net.minecraft.client.gui.widget.EntryListWidget;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(EntryListWidget.class)
+public interface EntryListWidgetAccessor<E extends EntryListWidget.Entry<E>> {
+    @Invoker("getEntryAtPosition")
+    E invokeGetEntryAtPosition(double x, double y);
+}
@@ -1,62 +1,41 @@
 package io.github.fishstiz.minecraftcursor.util;
 
-import org.lwjgl.BufferUtils;
+import org.lwjgl.system.MemoryUtil;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Base64;
+import java.nio.ByteOrder;
 
 public class BufferedImageUtil {
-    public static ByteBuffer getPixelsRGBA(BufferedImage image) {
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    // writes a whole RGBA pixel per int, the buffer must be direct and hold width * height * 4 bytes
+    public static void putPixelsRGBA(BufferedImage image, ByteBuffer buffer) {
         int width = image.getWidth();
         int height = image.getHeight();
-        int[] pixels = new int[width * height];
-        image.getRGB(0, 0, width, height, pixels, 0, width);
-        ByteBuffer buffer = BufferUtils.createByteBuffer(width * height * 4);
 
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int pixel = pixels[y * width + x];
-                buffer.put((byte) ((pixel >> 16) & 0xFF));  // red
-                buffer.put((byte) ((pixel >> 8) & 0xFF));   // green
-                buffer.put((byte) (pixel & 0xFF));          // blue
-                buffer.put((byte) ((pixel >> 24) & 0xFF));  // alpha
-            }
+        if (buffer.remaining() < width * height * 4) {
+            throw new IllegalArgumentException("Buffer too small for a " + width + "x" + height + " image");
         }
 
-        buffer.flip();
-        return buffer;
-    }
-
-    public static BufferedImage scaleImage(BufferedImage image, double scale) {
-        int width = (int) Math.round(image.getWidth() * scale);
-        int height = (int) Math.round(image.getHeight() * scale);
+        int[] row = new int[width];
+        long address = MemoryUtil.memAddress(buffer);
 
-        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = scaledImage.createGraphics();
-        g2d.drawImage(image, 0, 0, width, height, null);
-        g2d.dispose();
-        return scaledImage;
-    }
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
 
-    public static String compressImageToBase64(BufferedImage image) throws IOException {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            ImageIO.write(image, "PNG", baos);
-            byte[] imageData = baos.toByteArray();
-            return Base64.getEncoder().encodeToString(imageData);
+            for (int x = 0; x < width; x++) {
+                MemoryUtil.memPutInt(address, argbToRGBA(row[x]));
+                address += 4;
+            }
         }
     }
 
-    public static BufferedImage decompressBase64ToImage(String base64Image) throws IOException {
-        byte[] imageData = Base64.getDecoder().decode(base64Image);
-
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(imageData)) {
-            return ImageIO.read(bais);
+    // the RGBA byte order as a native int
+    private static int argbToRGBA(int argb) {
+        if (LITTLE_ENDIAN) {
+            return (argb & 0xFF00FF00) | ((argb >> 16) & 0xFF) | ((argb & 0xFF) << 16);
         }
+        return Integer.rotateLeft(argb, 8);
     }
 }
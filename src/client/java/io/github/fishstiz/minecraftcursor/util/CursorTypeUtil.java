@@ -9,14 +9,17 @@ import static io.github.fishstiz.minecraftcursor.MinecraftCursorClient.CURSOR_MA
 
 public class CursorTypeUtil {
     public static boolean canShift() {
+        return CURSOR_MANAGER.getCursor(CursorType.SHIFT).isUsable() && isShiftHeld();
+    }
+
+    public static boolean isShiftHeld() {
         long handle = CLIENT.getWindow().getHandle();
-        return CURSOR_MANAGER.getCursor(CursorType.SHIFT).getId() != 0
-                && (InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_RIGHT_SHIFT)
-                || InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_LEFT_SHIFT));
+        return InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_RIGHT_SHIFT)
+                || InputUtil.isKeyPressed(handle, GLFW.GLFW_KEY_LEFT_SHIFT);
     }
 
     public static boolean isGrabbing() {
-        return CURSOR_MANAGER.getCursor(CursorType.GRABBING).getId() != 0
+        return CURSOR_MANAGER.getCursor(CursorType.GRABBING).isUsable()
                 && CURSOR_MANAGER.getCurrentCursor().getType() == CursorType.GRABBING
                 && isLeftClickHeld();
     }
@@ -24,4 +27,8 @@ public class CursorTypeUtil {
     public static boolean isLeftClickHeld() {
         return GLFW.glfwGetMouseButton(CLIENT.getWindow().getHandle(), GLFW.GLFW_MOUSE_BUTTON_1) == GLFW.GLFW_PRESS;
     }
+
+    public static boolean isRightClickHeld() {
+        return GLFW.glfwGetMouseButton(CLIENT.getWindow().getHandle(), GLFW.GLFW_MOUSE_BUTTON_2) == GLFW.GLFW_PRESS;
+    }
 }
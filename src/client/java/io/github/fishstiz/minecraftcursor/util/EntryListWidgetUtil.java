@@ -0,0 +1,20 @@
+package io.github.fishstiz.minecraftcursor.util;
+
+import io.github.fishstiz.minecraftcursor.mixin.client.access.EntryListWidgetAccessor;
+import net.minecraft.client.gui.widget.EntryListWidget;
+import org.jetbrains.annotations.Nullable;
+
+public class EntryListWidgetUtil {
+    // computes the hovered row from the scroll amount and item height instead of checking every entry
+    @SuppressWarnings("unchecked")
+    public static <E extends EntryListWidget.Entry<E>> @Nullable E getHoveredEntry(
+            EntryListWidget<E> entryListWidget,
+            double mouseX,
+            double mouseY
+    ) {
+        if (!entryListWidget.isMouseOver(mouseX, mouseY)) {
+            return null;
+        }
+        return ((EntryListWidgetAccessor<E>) entryListWidget).invokeGetEntryAtPosition(mouseX, mouseY);
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.fishstiz.minecraftcursor.util;
+
+import java.nio.charset.StandardCharsets;
+
+// 64-bit FNV-1a, not cryptographic, only used to detect changes in resources and settings
+public class HashUtil {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static long fnv1a64(byte[] bytes) {
+        return new Hasher().putBytes(bytes).getHash();
+    }
+
+    public static String toHex(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    public static class Hasher {
+        private long hash = FNV_OFFSET_BASIS;
+
+        public Hasher putByte(int value) {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME;
+            return this;
+        }
+
+        public Hasher putBytes(byte[] bytes) {
+            return putBytes(bytes, 0, bytes.length);
+        }
+
+        public Hasher putBytes(byte[] bytes, int offset, int length) {
+            long hash = this.hash;
+            for (int i = offset; i < offset + length; i++) {
+                hash ^= bytes[i] & 0xFF;
+                hash *= FNV_PRIME;
+            }
+            this.hash = hash;
+            return this;
+        }
+
+        public Hasher putInt(int value) {
+            for (int i = 0; i < 4; i++) {
+                putByte(value >>> (i * 8));
+            }
+            return this;
+        }
+
+        public Hasher putLong(long value) {
+            for (int i = 0; i < 8; i++) {
+                putByte((int) (value >>> (i * 8)));
+            }
+            return this;
+        }
+
+        public Hasher putDouble(double value) {
+            return putLong(Double.doubleToLongBits(value));
+        }
+
+        public Hasher putBoolean(boolean value) {
+            return putByte(value ? 1 : 0);
+        }
+
+        // length prefixed so that consecutive strings cannot collide by moving characters between them
+        public Hasher putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            return putInt(bytes.length).putBytes(bytes);
+        }
+
+        public long getHash() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.fishstiz.minecraftcursor.cursor;
+
+import io.github.fishstiz.minecraftcursor.util.LegacyBufferedImageUtil;
+import org.lwjgl.stb.STBImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the cursor textures bundled with the mod through the ImageIO path of earlier versions and the STB path.
+ *
+ * <p>Both paths stop before the native cursor is created, which needs a window and costs the same for both.
+ * The {@code cold} benchmarks run once per fork, so they include the class loading and initialization paid
+ * at startup (e.g. AWT and ImageIO). The game loads the LWJGL and STB natives before any cursor, so the setup
+ * loads them as well. The others are the steady state of a resource reload.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextureLoadBenchmark {
+    private static final String PATH = "/assets/minecraft-cursor/textures/cursors/";
+    private static final String[] TEXTURES = {"default", "pointer", "text", "grabbing", "shift"};
+
+    @Param({"1.0", "1.5", "2.0"})
+    public double scale;
+    private byte[][] sources;
+
+    @Setup
+    public void setUp() throws IOException {
+        STBImage.stbi_failure_reason();
+        sources = new byte[TEXTURES.length][];
+
+        for (int i = 0; i < TEXTURES.length; i++) {
+            try (InputStream stream = TextureLoadBenchmark.class.getResourceAsStream(PATH + TEXTURES[i] + ".png")) {
+                if (stream == null) {
+                    throw new IOException("Bundled texture not found: " + TEXTURES[i]);
+                }
+                sources[i] = stream.readAllBytes();
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws IOException {
+        for (byte[] source : sources) {
+            blackhole.consume(LegacyBufferedImageUtil.loadCursor(source, scale));
+        }
+    }
+
+    @Benchmark
+    public void stb(Blackhole blackhole) throws IOException {
+        for (byte[] source : sources) {
+            try (CursorTexture texture = CursorTexture.of(CursorImage.read(source), null, ScaleFilter.NEAREST, "benchmark", 0)) {
+                for (CursorImage frame : texture.scale(scale)) {
+                    blackhole.consume(frame.getPixels());
+                    if (!texture.owns(frame)) {
+                        frame.close();
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldLegacy(Blackhole blackhole) throws IOException {
+        legacy(blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldStb(Blackhole blackhole) throws IOException {
+        stb(blackhole);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.fishstiz.minecraftcursor.util;
+
+import org.lwjgl.BufferUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+// the image handling of earlier versions, kept as the baseline of the benchmarks
+public class LegacyBufferedImageUtil {
+    public static ByteBuffer getPixelsRGBA(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getRGB(0, 0, width, height, pixels, 0, width);
+        ByteBuffer buffer = BufferUtils.createByteBuffer(width * height * 4);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int pixel = pixels[y * width + x];
+                buffer.put((byte) ((pixel >> 16) & 0xFF));  // red
+                buffer.put((byte) ((pixel >> 8) & 0xFF));   // green
+                buffer.put((byte) (pixel & 0xFF));          // blue
+                buffer.put((byte) ((pixel >> 24) & 0xFF));  // alpha
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    public static BufferedImage scaleImage(BufferedImage image, double scale) {
+        int width = (int) Math.round(image.getWidth() * scale);
+        int height = (int) Math.round(image.getHeight() * scale);
+
+        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaledImage.createGraphics();
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+        return scaledImage;
+    }
+
+    // a cursor of earlier versions: decoded by ImageIO, kept as a base64 PNG, scaled by Graphics2D and converted per byte
+    public static LegacyCursor loadCursor(byte[] source, double scale) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+        String base64Image;
+
+        try (ByteArrayOutputStream stream = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "PNG", stream);
+            base64Image = Base64.getEncoder().encodeToString(stream.toByteArray());
+        }
+
+        BufferedImage scaledImage = scale == 1 ? image : scaleImage(image, scale);
+        ByteBuffer pixels = getPixelsRGBA(scaledImage);
+        scaledImage.flush();
+        image.flush();
+        return new LegacyCursor(base64Image, pixels);
+    }
+
+    public record LegacyCursor(String base64Image, ByteBuffer pixels) {
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.fishstiz.minecraftcursor.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts an ARGB {@link BufferedImage} to RGBA at the cursor sizes of 1x, 2x and 3x scaled 32 px textures.
+ *
+ * <p>{@code vector} is the candidate Vector API conversion. It needs {@code --add-modules jdk.incubator.vector},
+ * which the game is not launched with, so it is only measured here.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PixelConversionBenchmark {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Param({"32", "64", "96"})
+    public int size;
+    private BufferedImage image;
+    private ByteBuffer buffer;
+    private int[] row;
+
+    @Setup
+    public void setUp() {
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+
+        buffer = MemoryUtil.memAlloc(size * size * 4);
+        row = new int[size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        MemoryUtil.memFree(buffer);
+    }
+
+    // earlier versions: four byte puts per pixel into a new buffer per call
+    @Benchmark
+    public ByteBuffer perBytePut() {
+        return LegacyBufferedImageUtil.getPixelsRGBA(image);
+    }
+
+    @Benchmark
+    public ByteBuffer intWide() {
+        BufferedImageUtil.putPixelsRGBA(image, buffer);
+        return buffer;
+    }
+
+    // swaps red and blue in place, which is RGBA only on little-endian hosts
+    @Benchmark
+    public ByteBuffer vector() {
+        IntBuffer pixels = buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+        int width = image.getWidth();
+        int bound = SPECIES.loopBound(width);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+
+            int x = 0;
+            for (; x < bound; x += SPECIES.length()) {
+                IntVector argb = IntVector.fromArray(SPECIES, row, x);
+                argb.and(0xFF00FF00)
+                        .or(argb.lanewise(VectorOperators.LSHR, 16).and(0xFF))
+                        .or(argb.and(0xFF).lanewise(VectorOperators.LSHL, 16))
+                        .intoArray(row, x);
+            }
+            for (; x < width; x++) {
+                int argb = row[x];
+                row[x] = (argb & 0xFF00FF00) | ((argb >> 16) & 0xFF) | ((argb & 0xFF) << 16);
+            }
+            pixels.put(row, 0, width);
+        }
+        return buffer;
+    }
+
+    // the lower bound of every path that reads the pixels through BufferedImage#getRGB
+    @Benchmark
+    public int[] getRGBOnly() {
+        int width = image.getWidth();
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.fishstiz.minecraftcursor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// screens are null, the scheduler only passes them through to the resolver
+class CursorResolutionSchedulerTest {
+    private CursorResolutionScheduler scheduler;
+    private List<double[]> resolutions;
+    private CursorResolutionScheduler.FrameResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new CursorResolutionScheduler();
+        resolutions = new ArrayList<>();
+        resolver = (screen, mouseX, mouseY) -> resolutions.add(new double[]{mouseX, mouseY});
+    }
+
+    @Test
+    void latestRequestOfFrameWins() {
+        scheduler.beginFrame();
+        scheduler.request(null, 1, 1);
+        scheduler.request(null, 2, 2);
+        scheduler.request(null, 3, 4);
+        scheduler.endFrame(resolver);
+
+        assertEquals(1, resolutions.size());
+        assertEquals(3, resolutions.get(0)[0]);
+        assertEquals(4, resolutions.get(0)[1]);
+    }
+
+    @Test
+    void resolvesAtMostOncePerFrame() {
+        scheduler.beginFrame();
+        scheduler.request(null, 1, 1);
+        scheduler.request(null, 2, 2);
+        scheduler.endFrame(resolver);
+        scheduler.endFrame(resolver);
+
+        assertEquals(1, resolutions.size());
+        assertEquals(1, scheduler.getFrameResolutions());
+
+        scheduler.beginFrame();
+        assertEquals(1, scheduler.getLastFrameResolutions());
+        assertEquals(0, scheduler.getFrameResolutions());
+    }
+
+    @Test
+    void doesNotResolveWithoutRequest() {
+        scheduler.beginFrame();
+        scheduler.endFrame(resolver);
+        scheduler.beginFrame();
+
+        assertEquals(0, resolutions.size());
+        assertEquals(0, scheduler.getLastFrameResolutions());
+        assertEquals(0, scheduler.getTotalResolutions());
+    }
+
+    @Test
+    void countsResolutionsAcrossFrames() {
+        for (int frame = 0; frame < 3; frame++) {
+            scheduler.beginFrame();
+            scheduler.request(null, frame, frame);
+            scheduler.request(null, frame, frame);
+            scheduler.endFrame(resolver);
+        }
+        scheduler.beginFrame();
+        scheduler.endFrame(resolver);
+
+        assertEquals(3, resolutions.size());
+        assertEquals(3, scheduler.getTotalResolutions());
+        assertEquals(0, scheduler.getFrameResolutions());
+    }
+}